@@ -0,0 +1,71 @@
+package com.veiculosmg.benchmark;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.utilitarios.FormataNome;
+import com.veiculosmg.utilitarios.NormalizadorPlaca;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatacaoBenchmark {
+
+    @Benchmark
+    public Carro formataAtributosCarro(EstadoCarro estado) {
+        Carro carro = estado.proximoCarro();
+        Carro.formataAtributos(carro);
+        return carro;
+    }
+
+    @Benchmark
+    public long chavePlaca(EstadoCarro estado) {
+        return NormalizadorPlaca.chave(estado.placa);
+    }
+
+    @Benchmark
+    public String formataNome() {
+        return FormataNome.formatacaoNome.apply("maria  DA silva santos");
+    }
+
+    @State(Scope.Thread)
+    public static class EstadoCarro {
+
+        // Potência de 2: o índice gira pelo array com uma máscara.
+        private static final int QUANTIDADE = 1024;
+
+        @Param({"abc1234", "ABC-1234", "rgd0j07"})
+        private String placa;
+
+        private Carro[] carros;
+
+        private int indice;
+
+        // Montados uma vez por iteração: um @Setup(Level.Invocation) custa mais do que a formatação medida.
+        @Setup(Level.Iteration)
+        public void preparaCarros() {
+            carros = new Carro[QUANTIDADE];
+            for (int i = 0; i < QUANTIDADE; i++) {
+                carros[i] = new Carro("fiat", "toro volcano", placa, 2021, "picape", "diesel", 280.0);
+            }
+            indice = 0;
+        }
+
+        // formataAtributos altera o carro: antes de reutilizá-lo, os atributos voltam aos valores de entrada
+        // (cinco atribuições, desprezíveis perto das conversões de caixa e da normalização da placa).
+        Carro proximoCarro() {
+            Carro carro = carros[indice++ & (QUANTIDADE - 1)];
+            carro.setMarca("fiat");
+            carro.setModelo("toro volcano");
+            carro.setCategoria("picape");
+            carro.setTipoCombustivel("diesel");
+            carro.setPlaca(placa);
+            return carro;
+        }
+
+    }
+
+}
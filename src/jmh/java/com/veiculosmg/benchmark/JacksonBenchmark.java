@@ -0,0 +1,62 @@
+package com.veiculosmg.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Endereco;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    // Mesma base de configuração do ObjectMapper usado pelo Spring MVC.
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Carro carro;
+
+    private Cliente cliente;
+
+    private String carroJson;
+
+    private String clienteJson;
+
+    @Setup
+    public void prepara() throws JsonProcessingException {
+        carro = new Carro(1L, "FORD", "MUSTANG", "ABC-1234", 2021, "ESPORTIVO", "GASOLINA", 450.75, true);
+        cliente = new Cliente("Karina Silva", "41368104070", "10911112220", "teste01@gmail.com", LocalDate.parse("2002-06-06"),
+                new Endereco("01001000", "Praça da Sé", "lado ímpar", "Sé", "São Paulo", "SP"));
+        carroJson = objectMapper.writeValueAsString(carro);
+        clienteJson = objectMapper.writeValueAsString(cliente);
+    }
+
+    @Benchmark
+    public String serializaCarro() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(carro);
+    }
+
+    @Benchmark
+    public Carro desserializaCarro() throws JsonProcessingException {
+        return objectMapper.readValue(carroJson, Carro.class);
+    }
+
+    @Benchmark
+    public String serializaCliente() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(cliente);
+    }
+
+    @Benchmark
+    public Cliente desserializaCliente() throws JsonProcessingException {
+        return objectMapper.readValue(clienteJson, Cliente.class);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.veiculosmg.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.veiculosmg.Application;
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.service.implementacao.ImplCarroService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Latência de GET /api/carros/{id} na aplicação de verdade (H2 de src/test/resources/config), com 8 clientes HTTP
+// concorrentes e os logs da requisição em INFO. As duas variantes gravam as mesmas mensagens no mesmo arquivo JSON
+// do logback.xml; só muda o caminho até ele:
+// sincrono: o appender de arquivo direto na raiz, escrevendo na thread da requisição.
+// assincrono: o AsyncAppender do logback.xml (fila limitada, descarte) na frente do mesmo appender.
+// O console sai das duas: iria para a saída do JMH.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LogBenchmark {
+
+    @Param({"sincrono", "assincrono"})
+    private String pipeline;
+
+    private Path diretorio;
+
+    private ConfigurableApplicationContext contexto;
+
+    private HttpClient cliente;
+
+    private HttpRequest requisicao;
+
+    @Setup
+    public void iniciaAplicacao() throws IOException {
+        diretorio = Files.createTempDirectory("log-benchmark");
+
+        SpringApplication aplicacao = new SpringApplication(Application.class);
+        aplicacao.setDefaultProperties(Map.of(
+                "server.port", "0",
+                "logging.file.path", diretorio.toString()));
+        contexto = aplicacao.run();
+
+        Carro carro = contexto.getBean(ImplCarroService.class)
+                .salvaNovaEntidade(new Carro("fiat", "uno", "LOG1A23", 2020, "hatch", "flex", 100.0));
+        int porta = contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+        configuraAppenders();
+
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/carros/" + carro.getId())).GET().build();
+    }
+
+    @TearDown
+    public void encerraAplicacao() throws IOException {
+        contexto.close();
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(arquivo -> arquivo.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int requisicao() throws IOException, InterruptedException {
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /* Privado */
+
+    // Troca só os appenders da raiz; os AsyncAppender retirados não são parados, porque o stop pararia também o
+    // appender de arquivo que eles envolvem.
+    private void configuraAppenders() {
+        Logger raiz = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+        raiz.detachAppender("ConsoleAssincrono");
+
+        if (pipeline.equals("sincrono")) {
+            AsyncAppender arquivoAssincrono = (AsyncAppender) raiz.getAppender("ArquivoAssincrono");
+            raiz.addAppender(arquivoAssincrono.getAppender("AnexadorDeArquivo"));
+            raiz.detachAppender(arquivoAssincrono);
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.veiculosmg.benchmark;
+
+import com.veiculosmg.Application;
+import com.veiculosmg.gerador.GeradorDeDados;
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.service.implementacao.ImplCarroService;
+import com.veiculosmg.service.implementacao.ImplClienteService;
+import com.veiculosmg.utilitarios.paginacao.Pagina;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Serviços reais sobre o H2 em memória de src/test/resources/config, sem servidor web.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicoBenchmark {
+
+    private static final int CARROS_INICIAIS = 1_000;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ImplCarroService carroService;
+
+    private ImplClienteService clienteService;
+
+    private long sequencia;
+
+    @Setup
+    public void iniciaAplicacao() {
+        SpringApplication aplicacao = new SpringApplication(Application.class);
+        aplicacao.setWebApplicationType(WebApplicationType.NONE);
+        // Logs por requisição em INFO dominariam a medição.
+        aplicacao.setDefaultProperties(Map.of("logging.level.root", "WARN"));
+        contexto = aplicacao.run();
+
+        carroService = contexto.getBean(ImplCarroService.class);
+        clienteService = contexto.getBean(ImplClienteService.class);
+
+        for (int i = 0; i < CARROS_INICIAIS; i++) {
+            carroService.salvaNovaEntidade(novoCarro());
+            clienteService.salvaNovaEntidade(novoCliente());
+        }
+    }
+
+    @TearDown
+    public void encerraAplicacao() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Carro criaCarro() {
+        return carroService.salvaNovaEntidade(novoCarro());
+    }
+
+    @Benchmark
+    public Pagina<Carro> listaPaginaDeCarros() {
+        return carroService.listaEntidades(null, 20);
+    }
+
+    @Benchmark
+    public List<Carro> listaTodosOsCarros() {
+        return carroService.listaEntidades();
+    }
+
+    @Benchmark
+    public Cliente criaCliente() {
+        return clienteService.salvaNovaEntidade(novoCliente());
+    }
+
+    @Benchmark
+    public Pagina<Cliente> listaPaginaDeClientes() {
+        return clienteService.listaEntidades(null, 20);
+    }
+
+    /* Privado */
+
+    // Placa Mercosul única derivada da sequência: LLL N L NN.
+    private Carro novoCarro() {
+        long n = sequencia++;
+        String placa = "" + letra(n / 26_000 / 26 / 26) + letra(n / 26_000 / 26) + letra(n / 26_000)
+                + (n / 2_600 % 10) + letra(n / 100) + String.format("%02d", n % 100);
+        return new Carro("fiat", "uno", placa, 2020, "hatch", "flex", 100.0);
+    }
+
+    private Cliente novoCliente() {
+        long n = sequencia++;
+        return new Cliente("cliente benchmark", GeradorDeDados.cpfDaBase(100_000_000L + n), String.format("31%09d", n), "cliente" + n + "@benchmark.com",
+                LocalDate.parse("1990-01-01"));
+    }
+
+    private static char letra(long n) {
+        return (char) ('A' + n % 26);
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.veiculosmg.benchmark;
+
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.utilitarios.anotacoes.CEP;
+import com.veiculosmg.utilitarios.anotacoes.CPF;
+import com.veiculosmg.utilitarios.anotacoes.ValidacaoNumeroTelefone;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoBenchmark {
+
+    private final CEP.CepValidator cepValidator = new CEP.CepValidator();
+
+    private final ValidacaoNumeroTelefone.NumeroTelefoneValidator telefoneValidator = new ValidacaoNumeroTelefone.NumeroTelefoneValidator();
+
+    private final CPF.CpfValidator cpfValidator = new CPF.CpfValidator();
+
+    private final ComCpfHibernate comCpfHibernate = new ComCpfHibernate("413.681.040-70");
+
+    private final ComCpf comCpf = new ComCpf("413.681.040-70");
+
+    // Campos não finais para o JIT não dobrar as validações como constantes.
+    private String cep = "01001000";
+
+    private String cepInvalido = "01001-000";
+
+    private String numeroTelefone = "10911112220";
+
+    private String cpf = "413.681.040-70";
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private Cliente cliente;
+
+    @Setup
+    public void prepara() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        cliente = new Cliente("Karina Silva", "41368104070", "10911112220", "teste01@gmail.com", LocalDate.parse("2002-06-06"),
+                new Endereco("01001000", "Praça da Sé", "lado ímpar", "Sé", "São Paulo", "SP"));
+    }
+
+    @TearDown
+    public void encerra() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean validaCep() {
+        return cepValidator.isValid(cep, null);
+    }
+
+    @Benchmark
+    public boolean validaCepInvalido() {
+        return cepValidator.isValid(cepInvalido, null);
+    }
+
+    @Benchmark
+    public boolean validaNumeroTelefone() {
+        return telefoneValidator.isValid(numeroTelefone, null);
+    }
+
+    @Benchmark
+    public boolean validaCpf() {
+        return cpfValidator.isValid(cpf, null);
+    }
+
+    // Mesmo CPF validado pelo Bean Validation, com a anotação do Hibernate e com a nossa.
+    @Benchmark
+    public Set<ConstraintViolation<ComCpfHibernate>> validaCpfHibernateViaValidator() {
+        return validator.validate(comCpfHibernate);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ComCpf>> validaCpfViaValidator() {
+        return validator.validate(comCpf);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Cliente>> validaClienteCompleto() {
+        return validator.validate(cliente);
+    }
+
+    public record ComCpfHibernate(@org.hibernate.validator.constraints.br.CPF String cpf) {
+    }
+
+    public record ComCpf(@CPF String cpf) {
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.veiculosmg.concorrencia;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Pool R2DBC atrás das permissões do BulkheadDataSource: JPA e catálogo juntos nunca passam do tamanho
+// configurado do HikariCP. A espera pela permissão bloqueia, então roda no boundedElastic.
+public class BulkheadConnectionFactory implements ConnectionFactory {
+
+    private final ConnectionFactory connectionFactory;
+
+    private final BulkheadDataSource bulkhead;
+
+    public BulkheadConnectionFactory(ConnectionFactory connectionFactory, BulkheadDataSource bulkhead) {
+        this.connectionFactory = connectionFactory;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.fromCallable(() -> {
+                    bulkhead.adquire();
+                    return new AtomicBoolean();
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                // Cancelado depois de adquirir e antes de pedir a conexão.
+                .doOnDiscard(AtomicBoolean.class, this::devolveUmaVez)
+                .flatMap(devolvida -> Mono.from(connectionFactory.create())
+                        .map(connection -> comDevolucaoNoClose(connection, devolvida))
+                        .doOnError(ex -> devolveUmaVez(devolvida))
+                        .doOnCancel(() -> devolveUmaVez(devolvida)));
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return connectionFactory.getMetadata();
+    }
+
+    /* Privado */
+
+    private Connection comDevolucaoNoClose(Connection connection, AtomicBoolean devolvida) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        return Mono.from(connection.close()).doFinally(sinal -> devolveUmaVez(devolvida));
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    private void devolveUmaVez(AtomicBoolean devolvida) {
+        if (devolvida.compareAndSet(false, true)) {
+            bulkhead.devolve();
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.veiculosmg.concorrencia;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Semáforo na frente do pool: uma permissão por conexão emprestada, devolvida no close().
+// Com threads virtuais, milhares de requisições esperam aqui (fila justa, tempo limite curto)
+// em vez de dentro do HikariCP, e o excesso vira 503 pelo HandlerExceptionCustomizada.
+// O catálogo R2DBC usa as mesmas permissões (BulkheadConnectionFactory).
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+
+    private final long esperaNanos;
+
+    public BulkheadDataSource(DataSource dataSource, int permissoes, Duration espera) {
+        super(dataSource);
+        this.permissoes = new Semaphore(permissoes, true);
+        this.esperaNanos = espera.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquire();
+        try {
+            return comDevolucaoNoClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permissoes.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquire();
+        try {
+            return comDevolucaoNoClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permissoes.release();
+            throw ex;
+        }
+    }
+
+    public int permissoesDisponiveis() {
+        return permissoes.availablePermits();
+    }
+
+    public int aguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    void devolve() {
+        permissoes.release();
+    }
+
+    void adquire() throws SQLException {
+        boolean adquiriu;
+        try {
+            adquiriu = permissoes.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão com o banco.", ex);
+        }
+
+        if (!adquiriu) {
+            throw new SQLTransientConnectionException("Bulkhead do banco cheio: nenhuma conexão liberada em "
+                    + TimeUnit.NANOSECONDS.toMillis(esperaNanos) + "ms.");
+        }
+    }
+
+    /* Privado */
+
+    private Connection comDevolucaoNoClose(Connection connection) {
+        AtomicBoolean devolvida = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && devolvida.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permissoes.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+}
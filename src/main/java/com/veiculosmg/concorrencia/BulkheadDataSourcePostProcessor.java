@@ -0,0 +1,55 @@
+package com.veiculosmg.concorrencia;
+
+import com.veiculosmg.configuration.ConcorrenciaConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Envolve o DataSource no BulkheadDataSource. Sem permissões configuradas, usa o tamanho do pool do HikariCP.
+@Component
+public class BulkheadDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String PROPRIEDADE_TAMANHO_POOL = "spring.datasource.hikari.maximum-pool-size";
+
+    // Padrão do HikariCP quando a propriedade não é definida.
+    private static final int TAMANHO_PADRAO_POOL = 10;
+
+    private final ObjectProvider<ConcorrenciaConfig> concorrenciaConfig;
+
+    private final Environment environment;
+
+    public BulkheadDataSourcePostProcessor(ObjectProvider<ConcorrenciaConfig> concorrenciaConfig, Environment environment) {
+        this.concorrenciaConfig = concorrenciaConfig;
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+            return bean;
+        }
+
+        ConcorrenciaConfig.Bulkhead bulkhead = concorrenciaConfig.getObject().getBulkhead();
+        if (!bulkhead.isHabilitado()) {
+            return bean;
+        }
+
+        return new BulkheadDataSource(dataSource, permissoes(bulkhead), bulkhead.getEspera());
+    }
+
+    /* Privado */
+
+    // Lê a propriedade, não o HikariDataSource: o maximumPoolSize dele fica em -1 até o pool iniciar.
+    private int permissoes(ConcorrenciaConfig.Bulkhead bulkhead) {
+        if (bulkhead.getPermissoes() > 0) {
+            return bulkhead.getPermissoes();
+        }
+        int tamanhoPool = Binder.get(environment).bind(PROPRIEDADE_TAMANHO_POOL, Integer.class).orElse(TAMANHO_PADRAO_POOL);
+        return tamanhoPool > 0 ? tamanhoPool : TAMANHO_PADRAO_POOL;
+    }
+
+}
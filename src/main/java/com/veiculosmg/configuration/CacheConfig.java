@@ -0,0 +1,53 @@
+package com.veiculosmg.configuration;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Endereco;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+// Cache por id de cada entidade no cache de segundo nível. As entidades não têm @Cacheable: cada região habilitada
+// entra aqui como hibernate.classcache.<entidade>=read-write; desabilitada, a busca por id vai sempre ao banco.
+@Configuration
+@ConfigurationProperties(prefix = "veiculosmg.cache")
+@Getter @Setter
+public class CacheConfig {
+
+    private Regiao carros = new Regiao();
+
+    private Regiao clientes = new Regiao();
+
+    private Regiao enderecos = new Regiao();
+
+    @Bean
+    public HibernatePropertiesCustomizer regioesDeEntidade() {
+        return propriedades -> {
+            registra(propriedades, Carro.class, carros);
+            registra(propriedades, Cliente.class, clientes);
+            registra(propriedades, Endereco.class, enderecos);
+        };
+    }
+
+    /* Privado */
+
+    private static void registra(Map<String, Object> propriedades, Class<?> entidade, Regiao regiao) {
+        if (regiao.isHabilitado()) {
+            propriedades.put(AvailableSettings.CLASS_CACHE_PREFIX + "." + entidade.getName(), "read-write");
+        }
+    }
+
+    @Getter @Setter
+    public static class Regiao {
+
+        private boolean habilitado = true;
+
+    }
+
+}
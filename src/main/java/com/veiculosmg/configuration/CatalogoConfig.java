@@ -0,0 +1,72 @@
+package com.veiculosmg.configuration;
+
+import com.veiculosmg.concorrencia.BulkheadConnectionFactory;
+import com.veiculosmg.concorrencia.BulkheadDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+// Conexões R2DBC do catálogo reativo. Não há spring.r2dbc.*: URL e credenciais vêm do spring.datasource.*,
+// e com o bulkhead habilitado cada conexão emprestada gasta uma permissão do BulkheadDataSource.
+@Configuration
+@ConfigurationProperties(prefix = "veiculosmg.catalogo")
+@Getter @Setter
+public class CatalogoConfig {
+
+    // Tamanho do pool R2DBC. As conexões em uso continuam limitadas pelas permissões do bulkhead.
+    private int conexoes = 2;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionPool(DataSourceProperties dataSourceProperties) {
+        ConnectionFactoryOptions.Builder opcoes = ConnectionFactoryOptions.parse(urlR2dbc(dataSourceProperties.determineUrl()))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername());
+        if (StringUtils.hasText(dataSourceProperties.determinePassword())) {
+            opcoes.option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword());
+        }
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes.build()))
+                .initialSize(0)
+                .maxSize(conexoes)
+                .build());
+    }
+
+    // @Primary: o ConnectionPool também é um ConnectionFactory, e o DatabaseClient deve usar este.
+    @Bean
+    @Primary
+    public ConnectionFactory connectionFactory(ConnectionPool connectionPool, DataSource dataSource) {
+        if (dataSource instanceof BulkheadDataSource bulkheadDataSource) {
+            return new BulkheadConnectionFactory(connectionPool, bulkheadDataSource);
+        }
+        return connectionPool;
+    }
+
+    // jdbc:mysql://host:3306/banco?opcoes -> r2dbc:mysql://host:3306/banco (as opções são do driver JDBC)
+    // jdbc:h2:mem:banco;MODE=MySQL -> r2dbc:h2:mem:///banco;MODE=MySQL
+    static String urlR2dbc(String urlJdbc) {
+        if (urlJdbc == null || !urlJdbc.startsWith("jdbc:")) {
+            throw new IllegalStateException("spring.datasource.url precisa ser uma URL JDBC: " + urlJdbc);
+        }
+
+        String url = "r2dbc:" + urlJdbc.substring("jdbc:".length());
+        if (url.startsWith("r2dbc:h2:mem:") && !url.startsWith("r2dbc:h2:mem://")) {
+            return "r2dbc:h2:mem:///" + url.substring("r2dbc:h2:mem:".length());
+        }
+
+        int inicioOpcoes = url.indexOf('?');
+        return inicioOpcoes < 0 ? url : url.substring(0, inicioOpcoes);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.veiculosmg.configuration;
+
+import com.veiculosmg.concorrencia.BulkheadDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConfigurationProperties(prefix = "veiculosmg.concorrencia")
+@Getter @Setter
+public class ConcorrenciaConfig {
+
+    // Exige Java 21. O Spring Boot 3.1 não tem spring.threads.virtual.enabled, então os executores
+    // do Tomcat e do @Async/MVC assíncrono são trocados aqui.
+    private boolean threadsVirtuais = false;
+
+    private Bulkhead bulkhead = new Bulkhead();
+
+    @Bean
+    @ConditionalOnProperty(prefix = "veiculosmg.concorrencia", name = "threads-virtuais", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<?> tomcatComThreadsVirtuais() {
+        ExecutorService executor = executorDeThreadsVirtuais();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    @ConditionalOnProperty(prefix = "veiculosmg.concorrencia", name = "threads-virtuais", havingValue = "true")
+    public AsyncTaskExecutor executorAssincronoComThreadsVirtuais() {
+        return new TaskExecutorAdapter(executorDeThreadsVirtuais());
+    }
+
+    @Bean
+    public MeterBinder metricasDoBulkhead(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BulkheadDataSource bulkheadDataSource) {
+                Gauge.builder("veiculosmg.bulkhead.disponiveis", bulkheadDataSource, BulkheadDataSource::permissoesDisponiveis)
+                        .register(registry);
+                Gauge.builder("veiculosmg.bulkhead.aguardando", bulkheadDataSource, BulkheadDataSource::aguardando)
+                        .register(registry);
+            }
+        };
+    }
+
+    /* Privado */
+
+    // Via reflexão para o projeto continuar compilando com --release 17.
+    private static ExecutorService executorDeThreadsVirtuais() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException("veiculosmg.concorrencia.threads-virtuais exige Java 21 ou superior.", ex);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais.", ex);
+        }
+    }
+
+    @Getter @Setter
+    public static class Bulkhead {
+
+        private boolean habilitado = true;
+
+        // Conexões emprestadas ao mesmo tempo. 0 = tamanho máximo do pool do HikariCP.
+        private int permissoes = 0;
+
+        private Duration espera = Duration.ofSeconds(1);
+
+    }
+
+}
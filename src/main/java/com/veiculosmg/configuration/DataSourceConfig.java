@@ -0,0 +1,46 @@
+package com.veiculosmg.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+// Só existe por causa do catálogo R2DBC. O DataSourceAutoConfiguration do Boot 3.1 fica desligado enquanto houver
+// um io.r2dbc.spi.ConnectionFactory (CatalogoConfig); sem esta classe não haveria DataSource, e o JPA não subiria.
+// Os beans repetem o que a auto-configuração faria com o HikariCP, lendo as mesmas spring.datasource.*, que também
+// são a origem da URL e das credenciais do R2DBC.
+// O JpaTransactionManager fica @Primary: com o R2DBC o Boot cria também um R2dbcTransactionManager, e
+// @Transactional sem qualificador precisa continuar sendo JPA.
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                    ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.veiculosmg.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "veiculosmg.gerador")
+@Getter @Setter
+public class GeradorConfig {
+
+    // Gera os dados na inicialização, só em tabelas vazias. Ligado no perfil perf.
+    private boolean habilitado = false;
+
+    private int carros = 0;
+
+    private int clientes = 0;
+
+    private int tamanhoLote = 1000;
+
+    // Mesma semente, mesmos dados: execuções de carga comparáveis entre versões.
+    private long semente = 42;
+
+}
@@ -0,0 +1,15 @@
+package com.veiculosmg.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "veiculosmg.importacao")
+@Getter @Setter
+public class ImportacaoConfig {
+
+    private int tamanhoLote = 500;
+
+}
@@ -0,0 +1,19 @@
+package com.veiculosmg.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "veiculosmg.locacao")
+@Getter @Setter
+public class LocacaoConfig {
+
+    private int listrasDeLock = 256;
+
+    private Duration esperaPorLock = Duration.ofMillis(250);
+
+}
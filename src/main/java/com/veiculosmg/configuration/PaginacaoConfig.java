@@ -0,0 +1,24 @@
+package com.veiculosmg.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "veiculosmg.paginacao")
+@Getter @Setter
+public class PaginacaoConfig {
+
+    private int tamanhoPadrao = 20;
+
+    private int tamanhoMaximo = 100;
+
+    public int tamanhoDaPagina(Integer tamanhoSolicitado) {
+        if (tamanhoSolicitado == null || tamanhoSolicitado < 1) {
+            return tamanhoPadrao;
+        }
+        return Math.min(tamanhoSolicitado, tamanhoMaximo);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.veiculosmg.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "veiculosmg.rastreamento")
+@Getter @Setter
+public class RastreamentoConfig {
+
+    private boolean serverTiming = true;
+
+    private Duration limiteRequisicaoLenta = Duration.ofMillis(500);
+
+}
@@ -1,17 +1,32 @@
 package com.veiculosmg.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veiculosmg.configuration.PaginacaoConfig;
 import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.importacao.RelatorioImportacao;
+import com.veiculosmg.model.projecao.VersaoRegistro;
 import com.veiculosmg.service.implementacao.ImplCarroService;
+import com.veiculosmg.utilitarios.EscritorNdjson;
+import com.veiculosmg.utilitarios.LeitorCsvCarro;
+import com.veiculosmg.utilitarios.VersaoHttp;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping(value = "api/carros", produces = {"application/json"})
@@ -20,8 +35,14 @@ public class CarroController {
 
     private final ImplCarroService carroService;
 
-    public CarroController(ImplCarroService carroService) {
+    private final PaginacaoConfig paginacaoConfig;
+
+    private final ObjectMapper objectMapper;
+
+    public CarroController(ImplCarroService carroService, PaginacaoConfig paginacaoConfig, ObjectMapper objectMapper) {
         this.carroService = carroService;
+        this.paginacaoConfig = paginacaoConfig;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Criação de novo carro.", method = "POST")
@@ -36,25 +57,86 @@ public class CarroController {
         return new ResponseEntity<>(carro, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Busca todos carros cadastrados.", method = "GET")
+    @Operation(summary = "Importação em lote de carros (JSON array). Retorna o resultado de cada linha.", method = "POST")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada, ver o status de cada linha"),
+            @ApiResponse(responseCode = "500", description = "Erro ao importar os carros"),
+    })
+    @PostMapping(value = "/importacao", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RelatorioImportacao> importaCarros(@RequestBody List<Carro> carros) {
+        return ResponseEntity.ok(carroService.importaEntidades(carros));
+    }
+
+    @Operation(summary = "Importação em lote de carros (CSV: marca,modelo,placa,ano,categoria,tipoCombustivel,valorDiaria).", method = "POST")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada, ver o status de cada linha"),
+            @ApiResponse(responseCode = "400", description = "Arquivo CSV mal formatado"),
+            @ApiResponse(responseCode = "500", description = "Erro ao importar os carros"),
+    })
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity<RelatorioImportacao> importaCarrosCsv(@RequestBody String csv) {
+        return ResponseEntity.ok(carroService.importaEntidades(LeitorCsvCarro.le(csv)));
+    }
+
+    @Operation(summary = "Busca carros cadastrados, paginados pelo cursor. O parâmetro todos=true retorna a lista completa e fields=id,campo,... retorna só os campos informados.", method = "GET")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Busca lista de carros realizada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Nenhum carro mudou desde o ETag informado no If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Erro ao realizar a busca de carros"),
+            @ApiResponse(responseCode = "400", description = "Cursor de paginação ou campo em fields inválido"),
     })
     @GetMapping
-    public ResponseEntity<List<Carro>> getCarros() {
-        return ResponseEntity.ok(carroService.listaEntidades());
+    public ResponseEntity<?> getCarros(@RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer tamanho,
+                                       @RequestParam(defaultValue = "false") boolean todos,
+                                       @RequestParam(required = false) Set<String> fields,
+                                       WebRequest webRequest) {
+        // Só a lista completa tem ETag: ele sai de uma consulta agregada sobre a tabela inteira, que não compensa
+        // numa página do cursor. Com If-None-Match atual a lista nem é buscada.
+        if (todos && webRequest.checkNotModified(VersaoHttp.etag(carroService.versaoColecao()))) {
+            return null;
+        }
+        if (fields != null && !fields.isEmpty()) {
+            return ResponseEntity.ok(todos ? carroService.listaCampos(fields)
+                    : carroService.listaCampos(fields, cursor, paginacaoConfig.tamanhoDaPagina(tamanho)));
+        }
+        if (todos) {
+            return ResponseEntity.ok(carroService.listaEntidades());
+        }
+        return ResponseEntity.ok(carroService.listaEntidades(cursor, paginacaoConfig.tamanhoDaPagina(tamanho)));
+    }
+
+    @Operation(summary = "Exporta todos os carros em NDJSON (um carro por linha), lidos do banco em streaming.", method = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação realizada com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro ao exportar os carros"),
+    })
+    @GetMapping(value = "/exportacao", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportaCarros() {
+        StreamingResponseBody corpo = saida -> {
+            try (EscritorNdjson escritor = new EscritorNdjson(objectMapper, saida)) {
+                carroService.exportaEntidades(escritor::escreve);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
     }
 
     @Operation(summary = "Busca carro por id informado.", method = "GET")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Carro não mudou desde o ETag/data informados"),
             @ApiResponse(responseCode = "404", description = "Carro com o id informado não foi encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro ao realizar a busca de carro por id"),
     })
     @GetMapping("/{id}")
-    public ResponseEntity<?> getCarroById(@PathVariable Long id) {
-        return ResponseEntity.ok(carroService.entidadePorId(id));
+    public ResponseEntity<?> getCarroById(@PathVariable Long id, WebRequest webRequest) {
+        // ETag e Last-Modified da própria entidade: a região READ_WRITE do cache é atualizada no commit, então a busca
+        // repetida não vai ao banco. Só o If-Match do PUT lê a versão da tabela.
+        Carro carro = carroService.entidadePorId(id).get();
+        if (webRequest.checkNotModified(VersaoHttp.etag(carro.getVersao()), VersaoHttp.ultimaModificacao(carro.getAtualizadoEm()))) {
+            return null;
+        }
+        return ResponseEntity.ok(carro);
     }
 
     @Operation(summary = "Busca carros disponíveis.", method = "GET")
@@ -71,6 +153,29 @@ public class CarroController {
         return ResponseEntity.ok(disponivel);
     }
 
+    @Operation(summary = "Quantidade de carros disponíveis agrupada por categoria e tipo de combustível.", method = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contagem realizada com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro ao realizar a contagem de carros disponiveis"),
+    })
+    @GetMapping("/disponiveis/contagem")
+    public ResponseEntity<Map<String, Map<String, Long>>> getContagemCarrosDisponiveis() {
+        return ResponseEntity.ok(carroService.contagemDisponiveis());
+    }
+
+    @Operation(summary = "Busca carros da categoria livres no período [dataInicio, dataFim).", method = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Período inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro ao realizar a busca de carros livres no período"),
+    })
+    @GetMapping("/disponiveis/periodo")
+    public ResponseEntity<List<Carro>> getCarrosLivresNoPeriodo(@RequestParam String categoria,
+                                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+                                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+        return ResponseEntity.ok(carroService.disponiveisNoPeriodo(categoria, dataInicio, dataFim));
+    }
+
     @Operation(summary = "Busca carros por categoria.", method = "GET")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
@@ -89,10 +194,17 @@ public class CarroController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Atualização do carro pelo id realizada com sucesso"),
             @ApiResponse(responseCode = "404", description = "Carro com o id informado não foi encontrado"),
+            @ApiResponse(responseCode = "412", description = "Carro alterado desde o ETag informado no If-Match"),
             @ApiResponse(responseCode = "500", description = "Erro ao realizar o update do carro"),
     })
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateCarroById(@Valid @RequestBody Carro carroAtualizado, @PathVariable Long id) {
+    public ResponseEntity<?> updateCarroById(@Valid @RequestBody Carro carroAtualizado, @PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        VersaoRegistro versaoAtual = carroService.versaoPorId(id);
+        VersaoHttp.verificaIfMatch(ifMatch, VersaoHttp.etag(versaoAtual));
+
+        // O update parte da versão validada: se outra requisição gravar antes, o @Version recusa o save (412).
+        carroAtualizado.setVersao(versaoAtual.versao());
         carroService.updateEntidade(carroAtualizado, id);
         return ResponseEntity.ok(carroAtualizado);
     }
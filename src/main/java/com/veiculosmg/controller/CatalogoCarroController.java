@@ -0,0 +1,57 @@
+package com.veiculosmg.controller;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.service.implementacao.ImplCatalogoCarroService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+// Catálogo somente leitura em NDJSON: cada carro é escrito assim que chega do banco (R2DBC),
+// e o próximo só é pedido depois que o anterior foi escrito para o cliente (backpressure).
+// A requisição roda em modo assíncrono, sem prender uma thread do Tomcat por cliente lento.
+@RestController
+@RequestMapping(value = "api/catalogo/carros", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@Tag(name = "api/catalogo/carros")
+public class CatalogoCarroController {
+
+    private final ImplCatalogoCarroService catalogoCarroService;
+
+    public CatalogoCarroController(ImplCatalogoCarroService catalogoCarroService) {
+        this.catalogoCarroService = catalogoCarroService;
+    }
+
+    @Operation(summary = "Catálogo completo de carros em streaming (NDJSON).", method = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streaming iniciado com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro ao realizar a busca de carros"),
+    })
+    @GetMapping
+    public Flux<Carro> getCarros() {
+        return catalogoCarroService.listaCarros();
+    }
+
+    @Operation(summary = "Carros disponíveis em streaming (NDJSON).", method = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streaming iniciado com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro ao realizar a busca de carros disponiveis"),
+    })
+    @GetMapping("/disponiveis")
+    public Flux<Carro> getCarrosDisponiveis() {
+        return catalogoCarroService.disponiveis();
+    }
+
+    @Operation(summary = "Carros da categoria em streaming (NDJSON).", method = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streaming iniciado com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro ao realizar a busca de carros pela categoria"),
+    })
+    @GetMapping("/categoria/{categoria}")
+    public Flux<Carro> getCarrosPorCategoria(@PathVariable String categoria) {
+        return catalogoCarroService.daCategoria(categoria);
+    }
+
+}
@@ -1,18 +1,29 @@
 package com.veiculosmg.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veiculosmg.configuration.PaginacaoConfig;
 import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.projecao.VersaoCliente;
 import com.veiculosmg.service.ClienteService;
+import com.veiculosmg.utilitarios.EscritorNdjson;
+import com.veiculosmg.utilitarios.VersaoHttp;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @RestController
 @RequestMapping(value = "api/clientes", produces = {"application/json"})
@@ -22,8 +33,14 @@ public class ClienteController {
 
     private final ClienteService clienteService;
 
-    public ClienteController(ClienteService clienteService) {
+    private final PaginacaoConfig paginacaoConfig;
+
+    private final ObjectMapper objectMapper;
+
+    public ClienteController(ClienteService clienteService, PaginacaoConfig paginacaoConfig, ObjectMapper objectMapper) {
         this.clienteService = clienteService;
+        this.paginacaoConfig = paginacaoConfig;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Criação de novo cliente.", method = "POST")
@@ -39,35 +56,82 @@ public class ClienteController {
         return new ResponseEntity<>(cliente, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Busca todos clientes cadastrados.", method = "GET")
+    @Operation(summary = "Busca clientes cadastrados, paginados pelo cursor. O parâmetro todos=true retorna a lista completa e fields=id,campo,... retorna só os campos informados.", method = "GET")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Busca lista de clientes realizada com sucesso"),
             @ApiResponse(responseCode = "500", description = "Erro ao buscar lista de clientes"),
+            @ApiResponse(responseCode = "400", description = "Cursor de paginação ou campo em fields inválido"),
     })
     @GetMapping
-    public ResponseEntity<List<Cliente>> getClientes() {
-        return ResponseEntity.ok(clienteService.listaEntidades());
+    public ResponseEntity<?> getClientes(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer tamanho,
+                                         @RequestParam(defaultValue = "false") boolean todos,
+                                         @RequestParam(required = false) Set<String> fields) {
+        if (fields != null && !fields.isEmpty()) {
+            return ResponseEntity.ok(todos ? clienteService.listaCampos(fields)
+                    : clienteService.listaCampos(fields, cursor, paginacaoConfig.tamanhoDaPagina(tamanho)));
+        }
+        if (todos) {
+            return ResponseEntity.ok(clienteService.listaEntidades());
+        }
+        return ResponseEntity.ok(clienteService.listaEntidades(cursor, paginacaoConfig.tamanhoDaPagina(tamanho)));
+    }
+
+    @Operation(summary = "Exporta todos os clientes em NDJSON (um cliente por linha). O parâmetro endereco=false omite o endereço.", method = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação realizada com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro ao exportar os clientes"),
+    })
+    @GetMapping(value = "/exportacao", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportaClientes(@RequestParam(defaultValue = "true") boolean endereco) {
+        StreamingResponseBody corpo = saida -> {
+            try (EscritorNdjson escritor = new EscritorNdjson(objectMapper, saida)) {
+                clienteService.exportaEntidades(endereco, escritor::escreve);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
     }
 
     @Operation(summary = "Busca cliente pelo id informado.", method = "GET")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Busca cliente pelo id realizada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Cliente e endereço não mudaram desde o ETag/data informados"),
             @ApiResponse(responseCode = "404", description = "Cliente com o id informado não foi encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro ao buscar cliente pelo id"),
     })
     @GetMapping("/{id}")
-    public ResponseEntity<?> getClienteById(@PathVariable Long id) {
-        return ResponseEntity.ok(clienteService.entidadePorId(id));
+    public ResponseEntity<?> getClienteById(@PathVariable Long id, WebRequest webRequest) {
+        Cliente cliente = clienteService.entidadePorId(id).get();
+        Endereco endereco = cliente.getEndereco();
+        long ultimaModificacao = endereco == null ? VersaoHttp.ultimaModificacao(cliente.getAtualizadoEm())
+                : VersaoHttp.ultimaModificacao(cliente.getAtualizadoEm(), endereco.getAtualizadoEm());
+
+        if (webRequest.checkNotModified(etag(cliente), ultimaModificacao)) {
+            return null;
+        }
+        return ResponseEntity.ok(cliente);
     }
 
     @Operation(summary = "Atualizar cliente pelo id informado.", method = "PUT")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Atualização do cliente pelo id realizada com sucesso"),
             @ApiResponse(responseCode = "404", description = "Cliente com o id informado não foi encontrado"),
+            @ApiResponse(responseCode = "412", description = "Cliente ou endereço alterado desde o ETag informado no If-Match"),
             @ApiResponse(responseCode = "500", description = "Erro ao atualizar cliente"),
     })
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateClienteById(@Valid @RequestBody Cliente clienteAtualizado, @PathVariable Long id) {
+    public ResponseEntity<?> updateClienteById(@Valid @RequestBody Cliente clienteAtualizado, @PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        VersaoCliente versaoAtual = clienteService.versaoPorId(id);
+        VersaoHttp.verificaIfMatch(ifMatch, VersaoHttp.etag(versaoAtual));
+
+        // O endereço enviado com o mesmo id é salvo em cascata, então também parte da versão já validada.
+        clienteAtualizado.setVersao(versaoAtual.versao());
+        Endereco enderecoAtualizado = clienteAtualizado.getEndereco();
+        if (versaoAtual.enderecoId() != null && enderecoAtualizado != null
+                && Objects.equals(versaoAtual.enderecoId(), enderecoAtualizado.getId())) {
+            enderecoAtualizado.setVersao(versaoAtual.versaoEndereco());
+        }
         clienteService.updateEntidade(clienteAtualizado, id);
         return ResponseEntity.ok(clienteAtualizado);
     }
@@ -84,4 +148,14 @@ public class ClienteController {
         return ResponseEntity.noContent().build();
     }
 
+    /* Privado */
+
+    // Mesmo formato de VersaoHttp.etag(VersaoCliente), usado no If-Match do PUT.
+    private String etag(Cliente cliente) {
+        if (cliente.getEndereco() == null) {
+            return VersaoHttp.etag(cliente.getVersao());
+        }
+        return VersaoHttp.etag(cliente.getVersao(), cliente.getEndereco().getVersao());
+    }
+
 }
@@ -1,16 +1,21 @@
 package com.veiculosmg.controller;
 
+import com.veiculosmg.configuration.PaginacaoConfig;
 import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.projecao.VersaoRegistro;
 import com.veiculosmg.service.EnderecoService;
+import com.veiculosmg.utilitarios.VersaoHttp;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping(value = "api/enderecos", produces = {"application/json"})
@@ -18,8 +23,11 @@ public class EnderecoController {
 
     private final EnderecoService enderecoService;
 
-    public EnderecoController(EnderecoService enderecoService) {
+    private final PaginacaoConfig paginacaoConfig;
+
+    public EnderecoController(EnderecoService enderecoService, PaginacaoConfig paginacaoConfig) {
         this.enderecoService = enderecoService;
+        this.paginacaoConfig = paginacaoConfig;
     }
 
     @Operation(summary = "Criação de novo endereço.", method = "POST")
@@ -34,35 +42,57 @@ public class EnderecoController {
         return new ResponseEntity<>(endereco, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Busca todos endereços cadastrados.", method = "GET")
+    @Operation(summary = "Busca endereços cadastrados, paginados pelo cursor. O parâmetro todos=true retorna a lista completa e fields=id,campo,... retorna só os campos informados.", method = "GET")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Busca lista de endereços realizada com sucesso"),
             @ApiResponse(responseCode = "500", description = "Erro ao buscar lista de endereços"),
+            @ApiResponse(responseCode = "400", description = "Cursor de paginação ou campo em fields inválido"),
     })
     @GetMapping
-    public ResponseEntity<List<Endereco>> getEnderecos() {
-        return ResponseEntity.ok(enderecoService.listaEntidades());
+    public ResponseEntity<?> getEnderecos(@RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer tamanho,
+                                          @RequestParam(defaultValue = "false") boolean todos,
+                                          @RequestParam(required = false) Set<String> fields) {
+        if (fields != null && !fields.isEmpty()) {
+            return ResponseEntity.ok(todos ? enderecoService.listaCampos(fields)
+                    : enderecoService.listaCampos(fields, cursor, paginacaoConfig.tamanhoDaPagina(tamanho)));
+        }
+        if (todos) {
+            return ResponseEntity.ok(enderecoService.listaEntidades());
+        }
+        return ResponseEntity.ok(enderecoService.listaEntidades(cursor, paginacaoConfig.tamanhoDaPagina(tamanho)));
     }
 
     @Operation(summary = "Busca endereço pelo id informado.", method = "GET")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Busca endereço pelo id realizada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Endereço não mudou desde o ETag/data informados"),
             @ApiResponse(responseCode = "404", description = "Endereço com o id informado não foi encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro ao buscar endereço pelo id"),
     })
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEnderecoById(@PathVariable Long id) {
-        return ResponseEntity.ok(enderecoService.entidadePorId(id));
+    public ResponseEntity<?> getEnderecoById(@PathVariable Long id, WebRequest webRequest) {
+        Endereco endereco = enderecoService.entidadePorId(id).get();
+        if (webRequest.checkNotModified(VersaoHttp.etag(endereco.getVersao()), VersaoHttp.ultimaModificacao(endereco.getAtualizadoEm()))) {
+            return null;
+        }
+        return ResponseEntity.ok(endereco);
     }
 
     @Operation(summary = "Atualizar endereço pelo id informado.", method = "PUT")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Atualização do endereço pelo id realizada com sucesso"),
             @ApiResponse(responseCode = "404", description = "Endereço com o id informado não foi encontrado"),
+            @ApiResponse(responseCode = "412", description = "Endereço alterado desde o ETag informado no If-Match"),
             @ApiResponse(responseCode = "500", description = "Erro ao atualizar o endereço"),
     })
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateEnderecoById(@Valid @RequestBody Endereco enderecoAtualizado, @PathVariable Long id) {
+    public ResponseEntity<?> updateEnderecoById(@Valid @RequestBody Endereco enderecoAtualizado, @PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        VersaoRegistro versaoAtual = enderecoService.versaoPorId(id);
+        VersaoHttp.verificaIfMatch(ifMatch, VersaoHttp.etag(versaoAtual));
+
+        enderecoAtualizado.setVersao(versaoAtual.versao());
         enderecoService.updateEntidade(enderecoAtualizado, id);
         return ResponseEntity.ok(enderecoAtualizado);
     }
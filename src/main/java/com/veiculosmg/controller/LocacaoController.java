@@ -0,0 +1,75 @@
+package com.veiculosmg.controller;
+
+import com.veiculosmg.model.entity.Locacao;
+import com.veiculosmg.model.locacao.LocacaoDoCarro;
+import com.veiculosmg.model.locacao.SolicitacaoLocacao;
+import com.veiculosmg.service.implementacao.ImplLocacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "api/locacoes", produces = {"application/json"})
+@Tag(name = "api/locacoes")
+public class LocacaoController {
+
+    private final ImplLocacaoService locacaoService;
+
+    public LocacaoController(ImplLocacaoService locacaoService) {
+        this.locacaoService = locacaoService;
+    }
+
+    @Operation(summary = "Reserva um carro para o cliente no período [dataInicio, dataFim).", method = "POST")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reserva realizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Período inválido"),
+            @ApiResponse(responseCode = "404", description = "Carro ou cliente não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Carro já reservado no período ou sendo reservado por outra requisição"),
+            @ApiResponse(responseCode = "500", description = "Erro ao realizar a reserva"),
+    })
+    @PostMapping
+    public ResponseEntity<Locacao> createLocacao(@Valid @RequestBody SolicitacaoLocacao solicitacao) {
+        return new ResponseEntity<>(locacaoService.reserva(solicitacao), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Busca locação por id informado.", method = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Locação com o id informado não foi encontrada"),
+            @ApiResponse(responseCode = "500", description = "Erro ao realizar a busca de locação por id"),
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getLocacaoById(@PathVariable Long id) {
+        return ResponseEntity.ok(locacaoService.entidadePorId(id));
+    }
+
+    @Operation(summary = "Busca locações do carro (ids e período, sem os dados do cliente), ordenadas pela data de início.", method = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro ao realizar a busca de locações do carro"),
+    })
+    @GetMapping("/carro/{carroId}")
+    public ResponseEntity<List<LocacaoDoCarro>> getLocacoesDoCarro(@PathVariable Long carroId) {
+        return ResponseEntity.ok(locacaoService.locacoesDoCarro(carroId));
+    }
+
+    @Operation(summary = "Cancela a locação pelo id.", method = "DELETE")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Cancelamento realizado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Locação com o id informado não foi encontrada"),
+            @ApiResponse(responseCode = "500", description = "Erro ao cancelar a locação"),
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteLocacaoById(@PathVariable Long id) {
+        locacaoService.cancela(id);
+        return ResponseEntity.noContent().build();
+    }
+
+}
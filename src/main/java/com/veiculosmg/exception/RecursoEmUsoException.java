@@ -0,0 +1,7 @@
+package com.veiculosmg.exception;
+
+public class RecursoEmUsoException extends RuntimeException{
+    public RecursoEmUsoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.veiculosmg.exception;
+
+public class ReservaIndisponivelException extends RuntimeException{
+    public ReservaIndisponivelException(String message) {
+        super(message);
+    }
+}
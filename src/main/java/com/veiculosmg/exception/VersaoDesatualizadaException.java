@@ -0,0 +1,7 @@
+package com.veiculosmg.exception;
+
+public class VersaoDesatualizadaException extends RuntimeException{
+    public VersaoDesatualizadaException(String message) {
+        super(message);
+    }
+}
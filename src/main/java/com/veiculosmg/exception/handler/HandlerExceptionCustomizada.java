@@ -1,8 +1,13 @@
 package com.veiculosmg.exception.handler;
 
 import com.veiculosmg.exception.*;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -102,4 +107,69 @@ public class HandlerExceptionCustomizada {
         return new ResponseEntity<>(responseException, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ReservaIndisponivelException.class)
+    public ResponseEntity<ResponseException> handleReservaIndisponivel(ReservaIndisponivelException ex) {
+        ResponseException responseException = new ResponseException(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage());
+
+        return new ResponseEntity<>(responseException, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(RecursoEmUsoException.class)
+    public ResponseEntity<ResponseException> handleRecursoEmUso(RecursoEmUsoException ex) {
+        ResponseException responseException = new ResponseException(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage());
+
+        return new ResponseEntity<>(responseException, HttpStatus.CONFLICT);
+    }
+
+    // Constraint do banco que escapou das verificações do serviço (ex.: locação gravada entre a checagem e o delete).
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ResponseException> handleViolacaoDeIntegridade(DataIntegrityViolationException ex) {
+        ResponseException responseException = new ResponseException(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                "A operação viola uma restrição de integridade dos dados.");
+
+        return new ResponseEntity<>(responseException, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(VersaoDesatualizadaException.class)
+    public ResponseEntity<ResponseException> handleVersaoDesatualizada(VersaoDesatualizadaException ex) {
+        ResponseException responseException = new ResponseException(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage());
+
+        return new ResponseEntity<>(responseException, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Outra requisição gravou o registro entre a leitura da versão e o update (checagem do @Version).
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ResponseException> handleAtualizacaoConcorrente(ObjectOptimisticLockingFailureException ex) {
+        ResponseException responseException = new ResponseException(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                "O recurso foi alterado por outra requisição. Busque a versão atual e tente novamente.");
+
+        return new ResponseEntity<>(responseException, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Sem conexão com o banco dentro do tempo de espera (bulkhead cheio, pool esgotado ou banco fora).
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ResponseException> handleBancoIndisponivel(RuntimeException ex) {
+        ResponseException responseException = new ResponseException(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Serviço sobrecarregado, tente novamente em instantes.");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(responseException);
+    }
+
 }
@@ -0,0 +1,312 @@
+package com.veiculosmg.gerador;
+
+import com.veiculosmg.configuration.GeradorConfig;
+import com.veiculosmg.service.implementacao.IndiceDisponibilidadeCarros;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Massa sintética para testes de carga e benchmarks sem MySQL (perfil perf): carros com placas nos dois formatos,
+// clientes com CPF válido e telefone/e-mail únicos, cada um com endereço. Insere em lotes pelo JDBC, sem passar
+// pelo Hibernate, para chegar a milhões de linhas em segundos. Os ids saem das mesmas sequências das entidades,
+// então inserts feitos depois pela API não colidem com os gerados.
+@Component
+@Slf4j
+public class GeradorDeDados {
+
+    // Mesmo allocationSize das sequências das entidades (carro_seq, cliente_seq, endereco_seq).
+    private static final int BLOCO_SEQUENCIA = 50;
+
+    // Primo que não divide nenhuma das capacidades abaixo: (indice * MULTIPLICADOR) % capacidade embaralha os
+    // índices sem repetir valores, e as placas e CPFs não saem em ordem alfabética.
+    private static final long MULTIPLICADOR = 48_271L;
+
+    private static final long PLACAS_ANTIGAS = 26L * 26 * 26 * 10_000;
+
+    private static final long PLACAS_MERCOSUL = 26L * 26 * 26 * 10 * 26 * 100;
+
+    // Bases de 100000000 a 111111110: nenhuma tem todos os dígitos iguais, o que invalidaria o CPF.
+    private static final long BASES_CPF = 11_111_111L;
+
+    private static final long TELEFONES = 100_000_000L;
+
+    private static final int ANO_MERCOSUL = 2018;
+
+    private static final LocalDate NASCIMENTO_MAIS_ANTIGO = LocalDate.of(1950, 1, 1);
+
+    private static final int DIAS_DE_NASCIMENTO = 20_000;
+
+    private static final String INSERT_CARRO = "insert into carro (id, marca, modelo, placa, ano, categoria, tipo_combustivel, "
+            + "valor_diaria, disponivel, versao, atualizado_em) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private static final String INSERT_ENDERECO = "insert into endereco (id, cep, logradouro, complemento, bairro, localidade, uf, "
+            + "versao, atualizado_em) values (?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private static final String INSERT_CLIENTE = "insert into cliente (id, nome, cpf, numero_telefone, email, data_nascimento, "
+            + "endereco_id, versao, atualizado_em) values (?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private static final List<Modelo> MODELOS = List.of(
+            new Modelo("FIAT", "UNO", "HATCH", "FLEX", 90),
+            new Modelo("FIAT", "MOBI", "HATCH", "FLEX", 95),
+            new Modelo("VW", "GOL", "HATCH", "FLEX", 100),
+            new Modelo("GM", "ONIX", "HATCH", "FLEX", 110),
+            new Modelo("HYUNDAI", "HB20", "HATCH", "FLEX", 110),
+            new Modelo("VW", "VIRTUS", "SEDAN", "FLEX", 170),
+            new Modelo("TOYOTA", "COROLLA", "SEDAN", "FLEX", 220),
+            new Modelo("HONDA", "CIVIC", "SEDAN", "GASOLINA", 230),
+            new Modelo("HYUNDAI", "CRETA", "SUV", "FLEX", 240),
+            new Modelo("JEEP", "COMPASS", "SUV", "DIESEL", 280),
+            new Modelo("TOYOTA", "HILUX", "CAMINHONETE", "DIESEL", 350),
+            new Modelo("VW", "AMAROK", "CAMINHONETE", "DIESEL", 360),
+            new Modelo("FORD", "MUSTANG", "ESPORTIVO", "GASOLINA", 450));
+
+    private static final List<Cidade> CIDADES = List.of(
+            new Cidade("Uberlandia", "MG", 38400, List.of("Centro", "Brasil", "Martins", "Santa Monica", "Tibery")),
+            new Cidade("Belo Horizonte", "MG", 30110, List.of("Savassi", "Funcionarios", "Lourdes", "Pampulha")),
+            new Cidade("Sao Paulo", "SP", 1310, List.of("Bela Vista", "Pinheiros", "Moema", "Tatuape", "Santana")),
+            new Cidade("Rio de Janeiro", "RJ", 22041, List.of("Copacabana", "Tijuca", "Botafogo", "Meier")),
+            new Cidade("Curitiba", "PR", 80010, List.of("Batel", "Agua Verde", "Portao", "Cabral")));
+
+    private static final List<String> NOMES = List.of("Ana", "Bruno", "Carla", "Diego", "Eduarda", "Felipe", "Gabriela",
+            "Hugo", "Isabela", "Joao", "Karina", "Lucas", "Mariana", "Nicolas", "Olivia", "Pedro", "Rafaela", "Samuel",
+            "Tatiana", "Vinicius");
+
+    private static final List<String> SOBRENOMES = List.of("Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira",
+            "Ferreira", "Costa", "Rodrigues", "Almeida", "Nascimento", "Borges", "Araujo", "Ribeiro", "Carvalho");
+
+    private static final List<String> RUAS = List.of("Rua das Flores", "Avenida Brasil", "Rua Sete de Setembro",
+            "Avenida Rondon Pacheco", "Rua Tiradentes", "Alameda dos Anjos", "Rua Goias", "Avenida Joao Naves de Avila");
+
+    private static final List<String> PROVEDORES = List.of("gmail.com", "hotmail.com", "outlook.com", "yahoo.com.br");
+
+    private static final List<String> DDDS = List.of("11", "21", "31", "34", "41", "51", "61", "62", "71", "81");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final IndiceDisponibilidadeCarros indiceDisponibilidade;
+
+    private final GeradorConfig geradorConfig;
+
+    public GeradorDeDados(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, EntityManagerFactory entityManagerFactory,
+                          IndiceDisponibilidadeCarros indiceDisponibilidade, GeradorConfig geradorConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.indiceDisponibilidade = indiceDisponibilidade;
+        this.geradorConfig = geradorConfig;
+    }
+
+    // Roda antes de o readiness passar a ACCEPTING_TRAFFIC: quem espera a aplicação pronta já encontra a massa completa.
+    @EventListener(ApplicationReadyEvent.class)
+    public void geraNaInicializacao() {
+        if (!geradorConfig.isHabilitado()) {
+            return;
+        }
+
+        if (contagem("carro") == 0) {
+            geraCarros(geradorConfig.getCarros());
+        } else {
+            log.info("Tabela carro já tem dados. Geração de carros ignorada.");
+        }
+
+        if (contagem("cliente") == 0) {
+            geraClientes(geradorConfig.getClientes());
+        } else {
+            log.info("Tabela cliente já tem dados. Geração de clientes ignorada.");
+        }
+    }
+
+    public void geraCarros(int quantidade) {
+        log.info("Geração de {} carros iniciada.", quantidade);
+        long inicio = System.nanoTime();
+
+        // Continua a numeração das linhas existentes: gerações seguidas não repetem placas.
+        long primeiroIndice = contagem("carro");
+        verificaCapacidade(primeiroIndice + quantidade, Math.min(PLACAS_ANTIGAS, PLACAS_MERCOSUL), "carros");
+
+        SplittableRandom aleatorio = new SplittableRandom(geradorConfig.getSemente() + primeiroIndice);
+        Sequencia ids = new Sequencia("carro_seq");
+        Timestamp agora = new Timestamp(System.currentTimeMillis());
+
+        emLotes(quantidade, (indiceNoLote, linhas) -> {
+            for (int i = 0; i < linhas.length; i++) {
+                linhas[i] = carro(ids.proximo(), primeiroIndice + indiceNoLote + i, aleatorio, agora);
+            }
+            jdbcTemplate.batchUpdate(INSERT_CARRO, List.of(linhas));
+        });
+
+        // Os inserts não passaram pelo Hibernate: nada em cache pode ter visto a tabela sem eles.
+        entityManagerFactory.getCache().evictAll();
+        indiceDisponibilidade.reconcilia();
+        log.info("Geração de {} carros concluída em {} ms.", quantidade, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public void geraClientes(int quantidade) {
+        log.info("Geração de {} clientes com endereço iniciada.", quantidade);
+        long inicio = System.nanoTime();
+
+        long primeiroIndice = contagem("cliente");
+        verificaCapacidade(primeiroIndice + quantidade, BASES_CPF, "clientes");
+
+        SplittableRandom aleatorio = new SplittableRandom(geradorConfig.getSemente() + primeiroIndice + 1);
+        Sequencia idsClientes = new Sequencia("cliente_seq");
+        Sequencia idsEnderecos = new Sequencia("endereco_seq");
+        Timestamp agora = new Timestamp(System.currentTimeMillis());
+
+        emLotes(quantidade, (indiceNoLote, linhas) -> {
+            Object[][] enderecos = new Object[linhas.length][];
+            for (int i = 0; i < linhas.length; i++) {
+                enderecos[i] = endereco(idsEnderecos.proximo(), aleatorio, agora);
+                linhas[i] = cliente(idsClientes.proximo(), primeiroIndice + indiceNoLote + i, (Long) enderecos[i][0], aleatorio, agora);
+            }
+            jdbcTemplate.batchUpdate(INSERT_ENDERECO, List.of(enderecos));
+            jdbcTemplate.batchUpdate(INSERT_CLIENTE, List.of(linhas));
+        });
+
+        entityManagerFactory.getCache().evictAll();
+        log.info("Geração de {} clientes concluída em {} ms.", quantidade, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // Placa no formato antigo (ABC-1234, forma canônica do NormalizadorPlaca) para carros anteriores a 2018
+    // e Mercosul (ABC1D23) a partir daí. Índices diferentes geram placas diferentes nos dois formatos.
+    static String placa(long indice, int ano) {
+        if (ano < ANO_MERCOSUL) {
+            long valor = indice * MULTIPLICADOR % PLACAS_ANTIGAS;
+            return letras(valor / 10_000) + "-" + String.format("%04d", valor % 10_000);
+        }
+
+        long valor = indice * MULTIPLICADOR % PLACAS_MERCOSUL;
+        long finais = valor % 100;
+        valor /= 100;
+        char letra = (char) ('A' + valor % 26);
+        valor /= 26;
+        return letras(valor / 10) + (valor % 10) + letra + String.format("%02d", finais);
+    }
+
+    static String cpf(long indice) {
+        return cpfDaBase(100_000_000L + indice * MULTIPLICADOR % BASES_CPF);
+    }
+
+    // CPF válido a partir de uma base de nove dígitos (100000000 a 999999999), com os dois dígitos verificadores.
+    // Também usado pelos testes e benchmarks que cadastram clientes.
+    public static String cpfDaBase(long base) {
+        StringBuilder cpf = new StringBuilder(Long.toString(base));
+        for (int digito = 0; digito < 2; digito++) {
+            int soma = 0;
+            for (int i = 0; i < cpf.length(); i++) {
+                soma += (cpf.charAt(i) - '0') * (cpf.length() + 1 - i);
+            }
+            int resto = soma % 11;
+            cpf.append(resto < 2 ? 0 : 11 - resto);
+        }
+        return cpf.toString();
+    }
+
+    /* Privado */
+
+    private Object[] carro(long id, long indice, SplittableRandom aleatorio, Timestamp agora) {
+        Modelo modelo = MODELOS.get(aleatorio.nextInt(MODELOS.size()));
+        int ano = aleatorio.nextInt(2008, 2025);
+        double valorDiaria = modelo.valorBase() + (ano - 2008) * 3 + aleatorio.nextInt(0, 41) / 2.0;
+        boolean disponivel = aleatorio.nextInt(100) < 85;
+
+        return new Object[]{id, modelo.marca(), modelo.modelo(), placa(indice, ano), ano, modelo.categoria(),
+                modelo.tipoCombustivel(), valorDiaria, disponivel, agora};
+    }
+
+    private Object[] endereco(long id, SplittableRandom aleatorio, Timestamp agora) {
+        Cidade cidade = CIDADES.get(aleatorio.nextInt(CIDADES.size()));
+        String cep = String.format("%05d%03d", cidade.prefixoCep() + aleatorio.nextInt(90), aleatorio.nextInt(1000));
+        String logradouro = RUAS.get(aleatorio.nextInt(RUAS.size())) + ", " + aleatorio.nextInt(1, 3000);
+        String complemento = aleatorio.nextInt(3) == 0 ? "Apto " + aleatorio.nextInt(1, 400) : "";
+        String bairro = cidade.bairros().get(aleatorio.nextInt(cidade.bairros().size()));
+
+        return new Object[]{id, cep, logradouro, complemento, bairro, cidade.nome(), cidade.uf(), agora};
+    }
+
+    private Object[] cliente(long id, long indice, Long enderecoId, SplittableRandom aleatorio, Timestamp agora) {
+        String nome = NOMES.get(aleatorio.nextInt(NOMES.size()));
+        String sobrenome = SOBRENOMES.get(aleatorio.nextInt(SOBRENOMES.size()));
+        String ultimoSobrenome = SOBRENOMES.get(aleatorio.nextInt(SOBRENOMES.size()));
+
+        // Únicos pelo índice: o sufixo do telefone é uma permutação dos 8 dígitos, o e-mail leva o índice.
+        String telefone = DDDS.get(aleatorio.nextInt(DDDS.size())) + "9" + String.format("%08d", indice * MULTIPLICADOR % TELEFONES);
+        String email = (nome + "." + ultimoSobrenome + "." + indice).toLowerCase() + "@" + PROVEDORES.get(aleatorio.nextInt(PROVEDORES.size()));
+        LocalDate dataNascimento = NASCIMENTO_MAIS_ANTIGO.plusDays(aleatorio.nextInt(DIAS_DE_NASCIMENTO));
+
+        return new Object[]{id, nome + " " + sobrenome + " " + ultimoSobrenome, cpf(indice), telefone, email,
+                dataNascimento, enderecoId, agora};
+    }
+
+    private void emLotes(int quantidade, Lote lote) {
+        int tamanhoLote = Math.max(1, geradorConfig.getTamanhoLote());
+        for (int gerados = 0; gerados < quantidade; gerados += tamanhoLote) {
+            int indiceNoLote = gerados;
+            Object[][] linhas = new Object[Math.min(tamanhoLote, quantidade - gerados)][];
+            transactionTemplate.executeWithoutResult(status -> lote.insere(indiceNoLote, linhas));
+        }
+    }
+
+    private long contagem(String tabela) {
+        return jdbcTemplate.queryForObject("select count(*) from " + tabela, Long.class);
+    }
+
+    private static void verificaCapacidade(long total, long capacidade, String entidade) {
+        if (total > capacidade) {
+            throw new IllegalArgumentException("O gerador comporta no máximo " + capacidade + " " + entidade + ".");
+        }
+    }
+
+    private static String letras(long valor) {
+        return new String(new char[]{(char) ('A' + valor / 676), (char) ('A' + valor / 26 % 26), (char) ('A' + valor % 26)});
+    }
+
+    @FunctionalInterface
+    private interface Lote {
+        void insere(int indiceNoLote, Object[][] linhas);
+    }
+
+    private record Modelo(String marca, String modelo, String categoria, String tipoCombustivel, int valorBase) {
+    }
+
+    private record Cidade(String nome, String uf, int prefixoCep, List<String> bairros) {
+    }
+
+    // Reserva ids como o otimizador pooled do Hibernate: cada valor da sequência é o último id de um bloco
+    // de BLOCO_SEQUENCIA ids (o primeiro valor, 1, vale só para o id 1).
+    private final class Sequencia {
+
+        private final String nome;
+
+        private long proximo = 1;
+
+        private long ultimo = 0;
+
+        private Sequencia(String nome) {
+            this.nome = nome;
+        }
+
+        private long proximo() {
+            if (proximo > ultimo) {
+                ultimo = jdbcTemplate.queryForObject("select next value for " + nome, Long.class);
+                proximo = Math.max(1, ultimo - BLOCO_SEQUENCIA + 1);
+            }
+            return proximo++;
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.veiculosmg.metricas;
+
+import com.veiculosmg.rastreamento.MedicaoRequisicao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Timer "veiculosmg.repositorio" por repositório/método, e contagem por requisição (MedicaoRequisicao).
+@Aspect
+@Component
+public class MetricasRepositorioAspect {
+
+    public static final String TIMER = "veiculosmg.repositorio";
+
+    private final MeterRegistry registry;
+
+    // O proxy do Spring Data implementa a interface do repositório; métodos herdados (findById)
+    // são declarados em CrudRepository, então o nome vem da classe do proxy.
+    private final Map<Class<?>, String> nomesRepositorio = new ConcurrentHashMap<>();
+
+    public MetricasRepositorioAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object cronometra(ProceedingJoinPoint joinPoint) throws Throwable {
+        MedicaoRequisicao.registraChamadaRepositorio();
+
+        Timer.Sample amostra = Timer.start(registry);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            amostra.stop(Timer.builder(TIMER)
+                    .tag("repositorio", nomesRepositorio.computeIfAbsent(joinPoint.getThis().getClass(), this::nomeRepositorio))
+                    .tag("metodo", joinPoint.getSignature().getName())
+                    .register(registry));
+        }
+    }
+
+    /* Privado */
+
+    private String nomeRepositorio(Class<?> proxy) {
+        for (Class<?> interfaceDoProxy : proxy.getInterfaces()) {
+            if (interfaceDoProxy.getName().startsWith("com.veiculosmg.")) {
+                return interfaceDoProxy.getSimpleName();
+            }
+        }
+        return proxy.getSimpleName();
+    }
+
+}
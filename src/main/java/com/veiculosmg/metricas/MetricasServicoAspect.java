@@ -0,0 +1,41 @@
+package com.veiculosmg.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Timer "veiculosmg.servico" em todo método público dos services (CrudService e LocacaoService).
+@Aspect
+@Component
+public class MetricasServicoAspect {
+
+    public static final String TIMER = "veiculosmg.servico";
+
+    private final MeterRegistry registry;
+
+    public MetricasServicoAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.veiculosmg.service.*Service+.*(..))")
+    public Object cronometra(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample amostra = Timer.start(registry);
+        String excecao = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            excecao = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            amostra.stop(Timer.builder(TIMER)
+                    .tag("servico", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("metodo", joinPoint.getSignature().getName())
+                    .tag("exception", excecao)
+                    .register(registry));
+        }
+    }
+
+}
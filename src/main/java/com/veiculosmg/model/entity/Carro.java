@@ -1,27 +1,33 @@
 package com.veiculosmg.model.entity;
 
-import com.veiculosmg.exception.AtributoInvalidoException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.veiculosmg.utilitarios.FormataNome;
+import com.veiculosmg.utilitarios.NormalizadorPlaca;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.Objects;
-import java.util.function.UnaryOperator;
-import java.util.regex.Pattern;
 
 @Entity
-@AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_carro_disponivel_categoria", columnList = "disponivel, categoria"),
+        @Index(name = "idx_carro_categoria_disponivel", columnList = "categoria, disponivel")
+})
 @NoArgsConstructor
 @Getter @Setter
 @EqualsAndHashCode(of = "placa")
 @ToString
 public class Carro {
 
+    // Sequência com otimizador pooled (no MySQL emulada pela tabela carro_seq) para permitir inserts em lote via JDBC batching.
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carro_seq")
+    @SequenceGenerator(name = "carro_seq", sequenceName = "carro_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Marca Obrigatória")
@@ -52,6 +58,23 @@ public class Carro {
 
     private boolean disponivel = true;
 
+    // Versão e data da última alteração só trafegam nos cabeçalhos ETag/Last-Modified, não no corpo.
+    @JsonIgnore
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long versao;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    private Instant atualizadoEm;
+
+    public Carro(Long id, String marca, String modelo, String placa, int ano, String categoria, String tipoCombustivel,
+                 double valorDiaria, boolean disponivel) {
+        this(marca, modelo, placa, ano, categoria, tipoCombustivel, valorDiaria);
+        this.id = id;
+        this.disponivel = disponivel;
+    }
+
     public Carro(String marca, String modelo, String placa, int ano, String categoria, String tipoCombustivel, double valorDiaria) {
         this.marca = marca;
         this.modelo = modelo;
@@ -68,25 +91,7 @@ public class Carro {
        carro.setModelo(carro.getModelo().toUpperCase());
        carro.setCategoria(carro.getCategoria().toUpperCase());
        carro.setTipoCombustivel(carro.getTipoCombustivel().toUpperCase());
-       carro.setPlaca(formataPlaca.apply(carro.getPlaca()));
+       carro.setPlaca(NormalizadorPlaca.formata(carro.getPlaca()));
     }
 
-    private static UnaryOperator<String> formataPlaca = placa -> {
-        String regexPlacaModeloAntigo = "^[A-Za-z]{3}\\d{4}$";
-        String regexPlacaMercosul = "^[A-Za-z]{3}\\d[A-Za-z]\\d{2}$";
-
-        StringBuilder placaFormatada = new StringBuilder();
-        String comecoDaPlaca = placa.substring(0, 3).toUpperCase();
-        String finalDaPlaca = placa.substring(3);
-
-        if (Pattern.matches(regexPlacaModeloAntigo, placa)) {
-            placaFormatada.append(comecoDaPlaca).append("-").append(finalDaPlaca);
-            return placaFormatada.toString();
-        } else if(Pattern.matches(regexPlacaMercosul, placa)) {
-            return placa.toUpperCase();
-        }
-
-        throw new AtributoInvalidoException("Formatos Válidos: ABC1234 ou ABC1D23");
-    };
-
 }
@@ -1,13 +1,16 @@
 package com.veiculosmg.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.veiculosmg.utilitarios.anotacoes.CPF;
 import com.veiculosmg.utilitarios.anotacoes.ValidacaoNumeroTelefone;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
-import org.hibernate.validator.constraints.br.CPF;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
@@ -46,6 +49,15 @@ public class Cliente {
     @JoinColumn(name = "endereco_id", referencedColumnName = "id")
     private Endereco endereco;
 
+    @JsonIgnore
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long versao;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    private Instant atualizadoEm;
+
     public Cliente(String nome, String cpf, String numeroTelefone, String email, LocalDate dataNascimento) {
         this.nome = nome;
         this.cpf = cpf;
@@ -53,6 +65,14 @@ public class Cliente {
         this.email = email;
         this.dataNascimento = dataNascimento;
     }
+    public Cliente(Long id, String nome, String cpf, String numeroTelefone, String email, LocalDate dataNascimento) {
+        this.id = id;
+        this.nome = nome;
+        this.cpf = cpf;
+        this.numeroTelefone = numeroTelefone;
+        this.email = email;
+        this.dataNascimento = dataNascimento;
+    }
     public Cliente(String nome, String cpf, String numeroTelefone, String email, LocalDate dataNascimento, Endereco endereco) {
         this.nome = nome;
         this.cpf = cpf;
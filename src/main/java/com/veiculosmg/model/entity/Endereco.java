@@ -1,9 +1,13 @@
 package com.veiculosmg.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.veiculosmg.utilitarios.anotacoes.CEP;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
 @AllArgsConstructor
@@ -35,6 +39,17 @@ public class Endereco {
     @NotBlank(message = "UF obrigatório")
     private String uf;
 
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long versao;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @UpdateTimestamp
+    private Instant atualizadoEm;
+
 
 
     public Endereco(String cep, String logradouro, String complemento, String bairro, String localidade, String uf) {
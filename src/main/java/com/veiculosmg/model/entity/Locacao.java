@@ -0,0 +1,49 @@
+package com.veiculosmg.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_locacao_carro_periodo", columnList = "carro_id, dataInicio, dataFim")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@ToString
+public class Locacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    private Cliente cliente;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "carro_id", nullable = false)
+    private Carro carro;
+
+    // Período semiaberto [dataInicio, dataFim): dataFim é o dia da devolução e pode ser o início de outra locação.
+    @Column(nullable = false)
+    private LocalDate dataInicio;
+
+    @Column(nullable = false)
+    private LocalDate dataFim;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal valorTotal;
+
+    public Locacao(Cliente cliente, Carro carro, LocalDate dataInicio, LocalDate dataFim, BigDecimal valorTotal) {
+        this.cliente = cliente;
+        this.carro = carro;
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+        this.valorTotal = valorTotal;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.veiculosmg.model.importacao;
+
+import java.util.List;
+
+public record RelatorioImportacao(int total, long criados, long rejeitados, List<ResultadoImportacao> resultados) {
+
+    public static RelatorioImportacao de(List<ResultadoImportacao> resultados) {
+        long criados = resultados.stream()
+                .filter(resultado -> resultado.status() == StatusImportacao.CRIADO)
+                .count();
+
+        return new RelatorioImportacao(resultados.size(), criados, resultados.size() - criados, resultados);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.veiculosmg.model.importacao;
+
+public record ResultadoImportacao(int linha, String placa, StatusImportacao status, Long id, String mensagem) {
+
+    public static ResultadoImportacao criado(int linha, String placa, Long id) {
+        return new ResultadoImportacao(linha, placa, StatusImportacao.CRIADO, id, null);
+    }
+
+    public static ResultadoImportacao rejeitado(int linha, String placa, StatusImportacao status, String mensagem) {
+        return new ResultadoImportacao(linha, placa, status, null, mensagem);
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.veiculosmg.model.importacao;
+
+public enum StatusImportacao {
+
+    CRIADO,
+    PLACA_DUPLICADA,
+    PLACA_INVALIDA,
+    INVALIDO
+
+}
@@ -0,0 +1,7 @@
+package com.veiculosmg.model.locacao;
+
+import java.time.LocalDate;
+
+// Locações de um carro sem os dados do cliente: só os ids e o período reservado.
+public record LocacaoDoCarro(Long id, Long carroId, Long clienteId, LocalDate dataInicio, LocalDate dataFim) {
+}
@@ -0,0 +1,6 @@
+package com.veiculosmg.model.locacao;
+
+import java.time.LocalDate;
+
+public record PeriodoReservado(Long carroId, LocalDate dataInicio, LocalDate dataFim) {
+}
@@ -0,0 +1,12 @@
+package com.veiculosmg.model.locacao;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record SolicitacaoLocacao(
+        @NotNull(message = "Cliente Obrigatório") Long clienteId,
+        @NotNull(message = "Carro Obrigatório") Long carroId,
+        @NotNull(message = "Data de Início Obrigatória") LocalDate dataInicio,
+        @NotNull(message = "Data de Devolução Obrigatória") LocalDate dataFim) {
+}
@@ -0,0 +1,11 @@
+package com.veiculosmg.model.projecao;
+
+public interface AtributosUnicosCliente {
+
+    String getCpf();
+
+    String getNumeroTelefone();
+
+    String getEmail();
+
+}
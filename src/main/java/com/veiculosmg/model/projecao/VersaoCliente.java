@@ -0,0 +1,5 @@
+package com.veiculosmg.model.projecao;
+
+// Como o VersaoRegistro, com o endereço do cliente (campos null quando não há endereço).
+public record VersaoCliente(Long versao, Long enderecoId, Long versaoEndereco) {
+}
@@ -0,0 +1,6 @@
+package com.veiculosmg.model.projecao;
+
+// Resumo barato da tabela para o ETag da coleção: inserts e deletes mudam a quantidade ou o maior id,
+// e cada update incrementa a versão da linha, mudando a soma.
+public record VersaoColecao(Long quantidade, Long maiorId, Long somaVersoes) {
+}
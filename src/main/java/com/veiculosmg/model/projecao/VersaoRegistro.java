@@ -0,0 +1,5 @@
+package com.veiculosmg.model.projecao;
+
+// Versão lida da tabela, sem passar pelo cache de segundo nível: base do If-Match.
+public record VersaoRegistro(Long versao) {
+}
@@ -0,0 +1,56 @@
+package com.veiculosmg.model.repository;
+
+import com.veiculosmg.model.entity.Carro;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+// Leitura reativa (R2DBC) da tabela carro para o catálogo. Não passa pelo Hibernate: os Carro
+// devolvidos não são gerenciados, e a escrita continua pelo CarroRepository.
+@Repository
+public class CarroCatalogoRepository {
+
+    private static final String SELECT = "select id, marca, modelo, placa, ano, categoria, tipo_combustivel, valor_diaria, disponivel from carro";
+
+    private final DatabaseClient databaseClient;
+
+    public CarroCatalogoRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Carro> todos() {
+        return databaseClient.sql(SELECT + " order by id")
+                .map(CarroCatalogoRepository::paraCarro)
+                .all();
+    }
+
+    public Flux<Carro> disponiveis() {
+        return databaseClient.sql(SELECT + " where disponivel = true order by id")
+                .map(CarroCatalogoRepository::paraCarro)
+                .all();
+    }
+
+    public Flux<Carro> daCategoria(String categoria) {
+        return databaseClient.sql(SELECT + " where categoria = :categoria order by id")
+                .bind("categoria", categoria)
+                .map(CarroCatalogoRepository::paraCarro)
+                .all();
+    }
+
+    /* Privado */
+
+    private static Carro paraCarro(Readable linha) {
+        return new Carro(
+                linha.get("id", Long.class),
+                linha.get("marca", String.class),
+                linha.get("modelo", String.class),
+                linha.get("placa", String.class),
+                linha.get("ano", Integer.class),
+                linha.get("categoria", String.class),
+                linha.get("tipo_combustivel", String.class),
+                linha.get("valor_diaria", Double.class),
+                linha.get("disponivel", Boolean.class));
+    }
+
+}
@@ -1,10 +1,92 @@
 package com.veiculosmg.model.repository;
 
 import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.projecao.VersaoColecao;
+import com.veiculosmg.model.projecao.VersaoRegistro;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CarroRepository extends JpaRepository<Carro, Long> {
 
+    List<Carro> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    boolean existsByPlaca(String placa);
+
+    boolean existsByPlacaAndIdNot(String placa, Long id);
+
+    @Query("select c.placa from Carro c where c.placa in :placas")
+    List<String> buscaPlacasCadastradas(@Param("placas") Collection<String> placas);
+
+    // Timeout 0 = NOWAIT: dentro da instância as reservas do carro já esperam no lock listrado, então o lock de linha
+    // só disputa com outras instâncias, e aí falha na hora (409) em vez de segurar a conexão até o timeout do banco.
+    // Os dialetos do MySQL e do H2 não geram espera com tempo positivo, só NOWAIT.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "0"))
+    @Query("select c from Carro c where c.id = :id")
+    Optional<Carro> buscaParaReserva(@Param("id") Long id);
+
+    // Consultas de disponibilidade/categoria vão para o cache de consultas do Hibernate: qualquer escrita em
+    // carro (ou locacao, na busca por período) invalida os resultados, e os carros saem do cache de segundo nível.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Carro> findByDisponivelTrue();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Carro> findByCategoria(String categoria);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select c from Carro c
+            where c.categoria = :categoria and c.disponivel = true
+              and not exists (select l.id from Locacao l where l.carro = c and l.dataInicio < :dataFim and l.dataFim > :dataInicio)
+            order by c.id""")
+    List<Carro> buscaLivresNoPeriodo(@Param("categoria") String categoria, @Param("dataInicio") LocalDate dataInicio,
+                                     @Param("dataFim") LocalDate dataFim);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            // A exportação percorre a tabela inteira: não deve empurrar as entidades quentes para fora do cache.
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select c from Carro c order by c.id")
+    Stream<Carro> streamTodos();
+
+    // Página da reconciliação do índice de disponibilidade (keyset por id): conexões curtas em vez de um stream aberto
+    // durante a varredura inteira, e fora do cache de segundo nível pelo mesmo motivo da exportação.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select c from Carro c where c.id > :id order by c.id")
+    List<Carro> buscaPaginaParaIndice(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.veiculosmg.model.projecao.VersaoColecao(count(c), coalesce(max(c.id), 0), coalesce(sum(c.versao), 0)) from Carro c")
+    VersaoColecao buscaVersaoColecao();
+
+    @Query("select new com.veiculosmg.model.projecao.VersaoRegistro(c.versao) from Carro c where c.id = :id")
+    Optional<VersaoRegistro> buscaVersao(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Carro c where c.id = :id")
+    int deletaPorId(@Param("id") Long id);
+
 }
@@ -1,16 +1,60 @@
 package com.veiculosmg.model.repository;
 
 import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.projecao.AtributosUnicosCliente;
+import com.veiculosmg.model.projecao.VersaoCliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
 
-    boolean existsByCpf(String cpf);
+    // O endereço vem no mesmo select (left join): sem o grafo, o @OneToOne eager gera um select por cliente listado.
+    @Override
+    @EntityGraph(attributePaths = "endereco")
+    List<Cliente> findAll();
+
+    @EntityGraph(attributePaths = "endereco")
+    List<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Retorna no máximo três linhas, uma por índice único (cpf, numeroTelefone, email). O e-mail é comparado sem
+    // diferenciar maiúsculas, como na verificação do serviço, também em bancos com collation sensível (H2).
+    @Query("select c.cpf as cpf, c.numeroTelefone as numeroTelefone, c.email as email from Cliente c " +
+            "where (c.cpf = :cpf or c.numeroTelefone = :numeroTelefone or lower(c.email) = lower(:email)) " +
+            "and (:idIgnorado is null or c.id <> :idIgnorado)")
+    List<AtributosUnicosCliente> buscaAtributosUnicosEmUso(@Param("cpf") String cpf,
+                                                           @Param("numeroTelefone") String numeroTelefone,
+                                                           @Param("email") String email,
+                                                           @Param("idIgnorado") Long idIgnorado);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select c from Cliente c left join fetch c.endereco order by c.id")
+    Stream<Cliente> streamTodosComEndereco();
 
-    boolean existsByNumeroTelefone(String numeroTelefone);
+    // Só as colunas do cliente, sem tocar na tabela endereco: a entidade com o @OneToOne eager buscaria o endereço
+    // de cada linha. As instâncias montadas pelo construtor não entram no contexto de persistência.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.veiculosmg.model.entity.Cliente(c.id, c.nome, c.cpf, c.numeroTelefone, c.email, c.dataNascimento) " +
+            "from Cliente c order by c.id")
+    Stream<Cliente> streamTodosSemEndereco();
 
-    boolean existsByEmail(String email);
+    @Query("select new com.veiculosmg.model.projecao.VersaoCliente(c.versao, e.id, e.versao) " +
+            "from Cliente c left join c.endereco e where c.id = :id")
+    Optional<VersaoCliente> buscaVersao(@Param("id") Long id);
 
 }
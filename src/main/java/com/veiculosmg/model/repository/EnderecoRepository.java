@@ -1,9 +1,29 @@
 package com.veiculosmg.model.repository;
 
 import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.projecao.VersaoRegistro;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
+
+    List<Endereco> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select new com.veiculosmg.model.projecao.VersaoRegistro(e.versao) from Endereco e where e.id = :id")
+    Optional<VersaoRegistro> buscaVersao(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Endereco e where e.id = :id")
+    int deletaPorId(@Param("id") Long id);
+
 }
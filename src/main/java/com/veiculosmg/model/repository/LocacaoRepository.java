@@ -0,0 +1,39 @@
+package com.veiculosmg.model.repository;
+
+import com.veiculosmg.model.entity.Locacao;
+import com.veiculosmg.model.locacao.LocacaoDoCarro;
+import com.veiculosmg.model.locacao.PeriodoReservado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface LocacaoRepository extends JpaRepository<Locacao, Long> {
+
+    // Dois períodos semiabertos se sobrepõem quando cada um começa antes do outro terminar.
+    @Query("select count(l) > 0 from Locacao l where l.carro.id = :carroId and l.dataInicio < :dataFim and l.dataFim > :dataInicio")
+    boolean existeLocacaoNoPeriodo(@Param("carroId") Long carroId, @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    List<Locacao> findByCarroIdOrderByDataInicioAsc(Long carroId);
+
+    @Query("select new com.veiculosmg.model.locacao.LocacaoDoCarro(l.id, l.carro.id, l.cliente.id, l.dataInicio, l.dataFim) " +
+            "from Locacao l where l.carro.id = :carroId order by l.dataInicio")
+    List<LocacaoDoCarro> buscaLocacoesDoCarro(@Param("carroId") Long carroId);
+
+    boolean existsByCarroId(Long carroId);
+
+    boolean existsByClienteId(Long clienteId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.veiculosmg.model.locacao.PeriodoReservado(l.carro.id, l.dataInicio, l.dataFim) from Locacao l where l.dataFim > :data")
+    Stream<PeriodoReservado> streamPeriodosTerminandoApos(@Param("data") LocalDate data);
+
+}
@@ -0,0 +1,33 @@
+package com.veiculosmg.rastreamento;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Registrado em hibernate.session.events.auto: uma instância por Session.
+// Cada execução JDBC (comando ou lote) conta como um comando e soma seu tempo ao da requisição.
+public class MedicaoJdbcListener extends BaseSessionEventListener {
+
+    private long inicioExecucao;
+
+    private long inicioLote;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicioExecucao = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        MedicaoRequisicao.registraComando(System.nanoTime() - inicioExecucao);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicioLote = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        MedicaoRequisicao.registraComando(System.nanoTime() - inicioLote);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.veiculosmg.rastreamento;
+
+// Tempo de banco, comandos SQL e chamadas a repositório da requisição na thread atual: a única medição por
+// requisição. Alimentada pelo MedicaoJdbcListener e pelo MetricasRepositorioAspect; sem medição ativa
+// (jobs agendados, testes) não faz nada.
+public final class MedicaoRequisicao {
+
+    private static final ThreadLocal<MedicaoRequisicao> ATUAL = new ThreadLocal<>();
+
+    private final long inicio = System.nanoTime();
+
+    private long nanosBanco;
+
+    private int comandosSql;
+
+    private int chamadasRepositorio;
+
+    private MedicaoRequisicao() {
+    }
+
+    public static MedicaoRequisicao inicia() {
+        MedicaoRequisicao medicao = new MedicaoRequisicao();
+        ATUAL.set(medicao);
+        return medicao;
+    }
+
+    public static void encerra() {
+        ATUAL.remove();
+    }
+
+    static void registraComando(long nanos) {
+        MedicaoRequisicao medicao = ATUAL.get();
+        if (medicao != null) {
+            medicao.comandosSql++;
+            medicao.nanosBanco += nanos;
+        }
+    }
+
+    public static void registraChamadaRepositorio() {
+        MedicaoRequisicao medicao = ATUAL.get();
+        if (medicao != null) {
+            medicao.chamadasRepositorio++;
+        }
+    }
+
+    public long nanosTotal() {
+        return System.nanoTime() - inicio;
+    }
+
+    public long nanosBanco() {
+        return nanosBanco;
+    }
+
+    public int comandosSql() {
+        return comandosSql;
+    }
+
+    public int chamadasRepositorio() {
+        return chamadasRepositorio;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.veiculosmg.rastreamento;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+// Coloca o id da requisição no MDC (campo "requestId" do log JSON) e o devolve no cabeçalho.
+// Reaproveita o X-Request-Id (ou X-Correlation-Id) recebido quando ele é seguro para ir ao log.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequisicaoIdFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "X-Request-Id";
+
+    public static final String CABECALHO_CORRELACAO = "X-Correlation-Id";
+
+    public static final String CHAVE_MDC = "requestId";
+
+    private static final int TAMANHO_MAXIMO = 64;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(CABECALHO);
+        if (!idValido(requestId)) {
+            // Um X-Request-Id inválido não descarta o X-Correlation-Id válido que veio junto.
+            requestId = request.getHeader(CABECALHO_CORRELACAO);
+        }
+        if (!idValido(requestId)) {
+            requestId = UUID.randomUUID().toString();
+        }
+
+        MDC.put(CHAVE_MDC, requestId);
+        response.setHeader(CABECALHO, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(CHAVE_MDC);
+        }
+    }
+
+    /* Privado */
+
+    private static boolean idValido(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > TAMANHO_MAXIMO) {
+            return false;
+        }
+
+        for (int i = 0; i < requestId.length(); i++) {
+            char caractere = requestId.charAt(i);
+            boolean permitido = (caractere >= 'a' && caractere <= 'z') || (caractere >= 'A' && caractere <= 'Z')
+                    || (caractere >= '0' && caractere <= '9') || caractere == '-' || caractere == '_' || caractere == '.';
+            if (!permitido) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
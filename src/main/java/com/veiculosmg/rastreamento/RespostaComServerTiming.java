@@ -0,0 +1,75 @@
+package com.veiculosmg.rastreamento;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Escreve o Server-Timing antes do primeiro byte do corpo, sem bufferizar a resposta
+// (as exportações NDJSON continuam em streaming).
+class RespostaComServerTiming extends HttpServletResponseWrapper {
+
+    private final MedicaoRequisicao medicao;
+
+    private boolean cabecalhoEscrito;
+
+    RespostaComServerTiming(HttpServletResponse response, MedicaoRequisicao medicao) {
+        super(response);
+        this.medicao = medicao;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        escreveCabecalho();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        escreveCabecalho();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        escreveCabecalho();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        escreveCabecalho();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        escreveCabecalho();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        escreveCabecalho();
+        super.sendRedirect(location);
+    }
+
+    // Respostas sem corpo chegam ao fim do filtro sem ter passado pelos métodos acima.
+    void escreveCabecalho() {
+        if (cabecalhoEscrito || isCommitted()) {
+            return;
+        }
+        cabecalhoEscrito = true;
+
+        setHeader("Server-Timing", "app;dur=" + milissegundos(medicao.nanosTotal())
+                + ", db;dur=" + milissegundos(medicao.nanosBanco())
+                + ", sql;desc=\"" + medicao.comandosSql() + "\"");
+    }
+
+    static String milissegundos(long nanos) {
+        return String.valueOf(Math.round(nanos / 10_000.0) / 100.0);
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.veiculosmg.rastreamento;
+
+import com.veiculosmg.configuration.RastreamentoConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Mede o tempo total, o tempo de banco e os comandos SQL da requisição, devolve no Server-Timing
+// e escreve uma linha de resumo (com o requestId do MDC) quando passa do limite configurado.
+// Nas rotas /api/ registra também a distribuição de chamadas a repositório por endpoint: um findAll
+// acidental num update aparece como um salto nessa métrica.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TempoRequisicaoFilter extends OncePerRequestFilter {
+
+    public static final String METRICA_CHAMADAS_REPOSITORIO = "veiculosmg.requisicao.chamadas.repositorio";
+
+    private final RastreamentoConfig rastreamentoConfig;
+
+    private final MeterRegistry registry;
+
+    public TempoRequisicaoFilter(RastreamentoConfig rastreamentoConfig, MeterRegistry registry) {
+        this.rastreamentoConfig = rastreamentoConfig;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        MedicaoRequisicao medicao = MedicaoRequisicao.inicia();
+        RespostaComServerTiming respostaComServerTiming = null;
+        if (rastreamentoConfig.isServerTiming()) {
+            respostaComServerTiming = new RespostaComServerTiming(response, medicao);
+        }
+
+        try {
+            filterChain.doFilter(request, respostaComServerTiming != null ? respostaComServerTiming : response);
+        } finally {
+            if (respostaComServerTiming != null) {
+                respostaComServerTiming.escreveCabecalho();
+            }
+            MedicaoRequisicao.encerra();
+            registraSeLenta(request, response, medicao);
+            registraChamadasRepositorio(request, medicao);
+        }
+    }
+
+    /* Privado */
+
+    private void registraChamadasRepositorio(HttpServletRequest request, MedicaoRequisicao medicao) {
+        if (!request.getRequestURI().startsWith("/api/")) {
+            return;
+        }
+
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRICA_CHAMADAS_REPOSITORIO)
+                .baseUnit("chamadas")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .register(registry)
+                .record(medicao.chamadasRepositorio());
+    }
+
+    private void registraSeLenta(HttpServletRequest request, HttpServletResponse response, MedicaoRequisicao medicao) {
+        long nanosTotal = medicao.nanosTotal();
+        if (nanosTotal < rastreamentoConfig.getLimiteRequisicaoLenta().toNanos()) {
+            return;
+        }
+
+        log.warn("Requisição lenta: {} {} status={} total={}ms banco={}ms sql={}",
+                request.getMethod(), request.getRequestURI(), response.getStatus(),
+                TimeUnit.NANOSECONDS.toMillis(nanosTotal), TimeUnit.NANOSECONDS.toMillis(medicao.nanosBanco()),
+                medicao.comandosSql());
+    }
+
+}
@@ -1,12 +1,24 @@
 package com.veiculosmg.service;
 
 import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.importacao.RelatorioImportacao;
+import com.veiculosmg.model.projecao.VersaoColecao;
+import com.veiculosmg.model.projecao.VersaoRegistro;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface CarroService extends CrudService<Carro> {
 
     List<Carro> disponivel();
+    Map<String, Map<String, Long>> contagemDisponiveis();
     List<Carro> listCategoria(String categoria);
+    List<Carro> disponiveisNoPeriodo(String categoria, LocalDate dataInicio, LocalDate dataFim);
+    void exportaEntidades(Consumer<Carro> consumidor);
+    RelatorioImportacao importaEntidades(List<Carro> carros);
+    VersaoColecao versaoColecao();
+    VersaoRegistro versaoPorId(Long id);
 
 }
@@ -0,0 +1,12 @@
+package com.veiculosmg.service;
+
+import com.veiculosmg.model.entity.Carro;
+import reactor.core.publisher.Flux;
+
+public interface CatalogoCarroService {
+
+    Flux<Carro> listaCarros();
+    Flux<Carro> disponiveis();
+    Flux<Carro> daCategoria(String categoria);
+
+}
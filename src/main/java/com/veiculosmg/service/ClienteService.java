@@ -1,6 +1,13 @@
 package com.veiculosmg.service;
 
 import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.projecao.VersaoCliente;
+
+import java.util.function.Consumer;
 
 public interface ClienteService extends CrudService<Cliente> {
+
+    void exportaEntidades(boolean incluiEndereco, Consumer<Cliente> consumidor);
+    VersaoCliente versaoPorId(Long id);
+
 }
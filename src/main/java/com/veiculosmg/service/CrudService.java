@@ -1,7 +1,11 @@
 package com.veiculosmg.service;
 
+import com.veiculosmg.utilitarios.paginacao.Pagina;
+
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 
 public interface CrudService<T> {
@@ -10,6 +14,12 @@ public interface CrudService<T> {
 
     List<T> listaEntidades();
 
+    Pagina<T> listaEntidades(String cursor, int tamanho);
+
+    List<Map<String, Object>> listaCampos(Set<String> campos);
+
+    Pagina<Map<String, Object>> listaCampos(Set<String> campos, String cursor, int tamanho);
+
     Optional<T> entidadePorId(Long id);
 
     void updateEntidade(T t, Long id);
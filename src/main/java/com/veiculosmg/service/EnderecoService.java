@@ -1,6 +1,10 @@
 package com.veiculosmg.service;
 
 import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.projecao.VersaoRegistro;
 
 public interface EnderecoService extends CrudService<Endereco>{
+
+    VersaoRegistro versaoPorId(Long id);
+
 }
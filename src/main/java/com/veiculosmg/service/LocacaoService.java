@@ -0,0 +1,17 @@
+package com.veiculosmg.service;
+
+import com.veiculosmg.model.entity.Locacao;
+import com.veiculosmg.model.locacao.LocacaoDoCarro;
+import com.veiculosmg.model.locacao.SolicitacaoLocacao;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LocacaoService {
+
+    Locacao reserva(SolicitacaoLocacao solicitacao);
+    Optional<Locacao> entidadePorId(Long id);
+    List<LocacaoDoCarro> locacoesDoCarro(Long carroId);
+    void cancela(Long id);
+
+}
@@ -1,17 +1,45 @@
 package com.veiculosmg.service.implementacao;
 
+import com.veiculosmg.configuration.ImportacaoConfig;
 import com.veiculosmg.exception.AtributoDuplicadoException;
+import com.veiculosmg.exception.AtributoInvalidoException;
+import com.veiculosmg.exception.RecursoEmUsoException;
 import com.veiculosmg.exception.RecursoNaoEncontradoException;
 import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.importacao.RelatorioImportacao;
+import com.veiculosmg.model.importacao.ResultadoImportacao;
+import com.veiculosmg.model.importacao.StatusImportacao;
+import com.veiculosmg.model.projecao.VersaoColecao;
+import com.veiculosmg.model.projecao.VersaoRegistro;
 import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.model.repository.LocacaoRepository;
 import com.veiculosmg.service.CarroService;
+import com.veiculosmg.utilitarios.ProjecaoDeCampos;
+import com.veiculosmg.utilitarios.paginacao.Cursor;
+import com.veiculosmg.utilitarios.paginacao.Pagina;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -19,8 +47,34 @@ public class ImplCarroService implements CarroService {
 
     private final CarroRepository carroRepository;
 
-    public ImplCarroService(CarroRepository carroRepository) {
+    private final LocacaoRepository locacaoRepository;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ImportacaoConfig importacaoConfig;
+
+    private final ProjecaoDeCampos projecaoDeCampos;
+
+    private final IndiceDisponibilidadeCarros indiceDisponibilidade;
+
+    private final IndiceReservasCarros indiceReservas;
+
+    public ImplCarroService(CarroRepository carroRepository, LocacaoRepository locacaoRepository, EntityManager entityManager,
+                            Validator validator, TransactionTemplate transactionTemplate, ImportacaoConfig importacaoConfig,
+                            IndiceDisponibilidadeCarros indiceDisponibilidade, IndiceReservasCarros indiceReservas) {
         this.carroRepository = carroRepository;
+        this.locacaoRepository = locacaoRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.importacaoConfig = importacaoConfig;
+        this.projecaoDeCampos = ProjecaoDeCampos.de(entityManager, Carro.class);
+        this.indiceDisponibilidade = indiceDisponibilidade;
+        this.indiceReservas = indiceReservas;
     }
 
     @Override
@@ -30,11 +84,14 @@ public class ImplCarroService implements CarroService {
             log.info("Formatação nome dos atributos iniciada.");
             Carro.formataAtributos(carro);
 
+            vericaSeExistePlacaCadastrada(carro);
+
             carroRepository.save(carro);
+            indiceDisponibilidade.atualiza(carro);
             log.info("Criação de novo carro concluída.");
             return carro;
         } catch (DataIntegrityViolationException ex) {
-            log.error("Erro. Placa: {}", carro.getPlaca() + " já está cadastrada.", ex);
+            log.error("Erro. Placa: {} já está cadastrada.", carro.getPlaca(), ex);
             throw new AtributoDuplicadoException("Placa: " + carro.getPlaca() + " já está cadastrada!");
         }
     }
@@ -45,6 +102,39 @@ public class ImplCarroService implements CarroService {
         return carroRepository.findAll();
     }
 
+    @Override
+    public Pagina<Carro> listaEntidades(String cursor, int tamanho) {
+        log.info("Busca paginada de carros iniciada.");
+        List<Carro> carros = carroRepository.findByIdGreaterThanOrderByIdAsc(Cursor.decodifica(cursor), PageRequest.of(0, tamanho + 1));
+
+        return Pagina.de(carros, tamanho, Carro::getId);
+    }
+
+    @Override
+    public VersaoColecao versaoColecao() {
+        return carroRepository.buscaVersaoColecao();
+    }
+
+    @Override
+    public VersaoRegistro versaoPorId(Long id) {
+        return carroRepository.buscaVersao(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Carro com Id: " + id + " não Encontrado!"));
+    }
+
+    @Override
+    public List<Map<String, Object>> listaCampos(Set<String> campos) {
+        log.info("Busca dos campos {} de carros iniciada.", campos);
+        return projecaoDeCampos.busca(campos, 0L, null);
+    }
+
+    @Override
+    public Pagina<Map<String, Object>> listaCampos(Set<String> campos, String cursor, int tamanho) {
+        log.info("Busca paginada dos campos {} de carros iniciada.", campos);
+        List<Map<String, Object>> registros = projecaoDeCampos.busca(campos, Cursor.decodifica(cursor), tamanho + 1);
+
+        return Pagina.de(registros, tamanho, ProjecaoDeCampos::id);
+    }
+
     @Override
     public Optional<Carro> entidadePorId(Long id) {
         return Optional.of(verificaSeCarroExiste(id));
@@ -53,22 +143,76 @@ public class ImplCarroService implements CarroService {
     @Override
     public List<Carro> disponivel() {
         log.info("Busca de carros disponíveis iniciada.");
-        return carroRepository.findAll()
-                .stream()
-                .filter(Carro::isDisponivel)
-                .toList();
+        return indiceDisponibilidade.disponiveis().orElseGet(carroRepository::findByDisponivelTrue);
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> contagemDisponiveis() {
+        log.info("Contagem de carros disponíveis por categoria e combustível iniciada.");
+        return indiceDisponibilidade.contagemDisponiveis().orElseGet(() -> carroRepository.findByDisponivelTrue().stream()
+                .collect(Collectors.groupingBy(Carro::getCategoria, TreeMap::new,
+                        Collectors.groupingBy(Carro::getTipoCombustivel, TreeMap::new, Collectors.counting()))));
+    }
+
+    @Override
+    public List<Carro> disponiveisNoPeriodo(String categoria, LocalDate dataInicio, LocalDate dataFim) {
+        log.info("Busca de carros {} livres entre {} e {} iniciada.", categoria, dataInicio, dataFim);
+        if (!dataFim.isAfter(dataInicio)) {
+            throw new AtributoInvalidoException("Data de devolução deve ser posterior à data de início.");
+        }
+
+        String categoriaFormatada = categoria.toUpperCase();
+        return indiceDisponibilidade.daCategoria(categoriaFormatada)
+                .flatMap(carrosDaCategoria -> indiceReservas.filtraLivres(
+                        carrosDaCategoria.stream().filter(Carro::isDisponivel).toList(), dataInicio, dataFim))
+                .orElseGet(() -> carroRepository.buscaLivresNoPeriodo(categoriaFormatada, dataInicio, dataFim));
     }
 
     @Override
     public List<Carro> listCategoria(String categoria) {
-        log.info("Busca de carros {}", categoria.toUpperCase() + " Iniciada.");
+        log.info("Busca de carros {} iniciada.", categoria);
+        List<Carro> carrosDaCategoria = indiceDisponibilidade.daCategoria(categoria)
+                .orElseGet(() -> carroRepository.findByCategoria(categoria.toUpperCase()));
+
         log.info("Busca de carros pela categoria concluída.");
-        return filtroCarrosPorCategoria.apply(categoria);
+        return carrosDaCategoria;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportaEntidades(Consumer<Carro> consumidor) {
+        log.info("Exportação de carros iniciada.");
+        try (Stream<Carro> carros = carroRepository.streamTodos()) {
+            carros.forEach(carro -> {
+                entityManager.detach(carro);
+                consumidor.accept(carro);
+            });
+        }
+        log.info("Exportação de carros concluída.");
+    }
+
+    @Override
+    public RelatorioImportacao importaEntidades(List<Carro> carros) {
+        log.info("Importação de {} carros iniciada.", carros.size());
+        List<ResultadoImportacao> resultados = new ArrayList<>(carros.size());
+        Set<String> placasDoArquivo = new HashSet<>();
+        int tamanhoLote = importacaoConfig.getTamanhoLote();
+
+        for (int inicio = 0; inicio < carros.size(); inicio += tamanhoLote) {
+            List<Carro> lote = carros.subList(inicio, Math.min(inicio + tamanhoLote, carros.size()));
+            importaLote(lote, inicio + 1, placasDoArquivo, resultados);
+        }
+
+        resultados.sort(Comparator.comparingInt(ResultadoImportacao::linha));
+        RelatorioImportacao relatorio = RelatorioImportacao.de(resultados);
+
+        log.info("Importação concluída. Criados: {}, rejeitados: {}.", relatorio.criados(), relatorio.rejeitados());
+        return relatorio;
     }
 
     @Override
     public void updateEntidade(Carro carroAtualizado, Long id) {
-        log.info("Atualização do carro Id:{}", id + " iniciada.");
+        log.info("Atualização do carro Id:{} iniciada.", id);
         log.info("Body da requisição Carro:{}", carroAtualizado);
         try {
             Carro existeCarroComId = verificaSeCarroExiste(id);
@@ -76,11 +220,12 @@ public class ImplCarroService implements CarroService {
             log.info("Formatando nome dos atributos do carro atualizado.");
             Carro.formataAtributos(carroAtualizado);
 
-            verificarPlacasDiferentes(carroAtualizado, existeCarroComId);
+            verificarPlacasDiferentes(carroAtualizado, existeCarroComId.getId());
             carroAtualizado.setId(existeCarroComId.getId());
 
             log.info("Atualização do carro concluída.");
             carroRepository.save(carroAtualizado);
+            indiceDisponibilidade.atualiza(carroAtualizado);
         } catch (DataIntegrityViolationException ex) {
             log.error("Erro ao atualizar o carro.", ex);
             throw new AtributoDuplicadoException("Placa: " + carroAtualizado.getPlaca() + " já está cadastrada!");
@@ -89,23 +234,31 @@ public class ImplCarroService implements CarroService {
 
     @Override
     public void deletaEntidade(Long id) {
-        log.info("Delete do carro Id:{}", id + " iniciada.");
-        verificaSeCarroExiste(id);
+        log.info("Delete do carro Id:{} iniciada.", id);
+
+        if (locacaoRepository.existsByCarroId(id)) {
+            log.info("Carro com Id: {} possui locações.", id);
+            throw new RecursoEmUsoException("Carro com Id: " + id + " possui locações e não pode ser deletado.");
+        }
 
+        // Delete direto por id: evita carregar a entidade duas vezes (findById + deleteById).
+        if (carroRepository.deletaPorId(id) == 0) {
+            log.info("Carro com Id: {} não encontrado!", id);
+            throw new RecursoNaoEncontradoException("Carro com Id: " + id + " não Encontrado!");
+        }
+
+        indiceDisponibilidade.remove(id);
         log.info("Delete do carro concluído");
-        carroRepository.deleteById(id);
     }
 
 
     /* Privado */
 
-    private void verificarPlacasDiferentes(Carro carroAtualizado, Carro carroJaCadastrado) {
-        log.info("Verificando se placa: {}", carroAtualizado.getPlaca() + " já está cadastrada.");
-        String placaDoCarroJaCadastrado = carroJaCadastrado.getPlaca();
-        String placaDoNovoCarro = carroAtualizado.getPlaca();
+    private void verificarPlacasDiferentes(Carro carroAtualizado, Long idCarroJaCadastrado) {
+        log.info("Verificando se placa: {} já está cadastrada.", carroAtualizado.getPlaca());
 
-        if (vericaSeExistePlacaCadastrada(carroAtualizado) && !placaDoCarroJaCadastrado.equalsIgnoreCase(placaDoNovoCarro)) {
-            log.warn("Placa: {}", carroAtualizado.getPlaca() + " está cadastrada em outro veículo!");
+        if (carroRepository.existsByPlacaAndIdNot(carroAtualizado.getPlaca(), idCarroJaCadastrado)) {
+            log.warn("Placa: {} está cadastrada em outro veículo!", carroAtualizado.getPlaca());
             throw new AtributoDuplicadoException("Placa informada já está salva em outro veículo!");
         }
     }
@@ -115,7 +268,7 @@ public class ImplCarroService implements CarroService {
         Optional<Carro> existeCarroComOIdInformado = carroRepository.findById(id);
 
         if (existeCarroComOIdInformado.isEmpty()) {
-            log.info("Carro com Id: {}", id + " não encontrado!");
+            log.info("Carro com Id: {} não encontrado!", id);
             throw new RecursoNaoEncontradoException("Carro com Id: " + id + " não Encontrado!");
         }
 
@@ -123,20 +276,92 @@ public class ImplCarroService implements CarroService {
         return existeCarroComOIdInformado.get();
     }
 
-    private boolean vericaSeExistePlacaCadastrada(Carro carro) {
-        List<String> placas = carroRepository.findAll()
-                .stream()
-                .map(Carro::getPlaca)
-                .toList();
+    private void vericaSeExistePlacaCadastrada(Carro carro) {
+        if (carroRepository.existsByPlaca(carro.getPlaca())) {
+            log.warn("Placa: {} já está cadastrada.", carro.getPlaca());
+            throw new AtributoDuplicadoException("Placa: " + carro.getPlaca() + " já está cadastrada!");
+        }
+    }
+
+    private void importaLote(List<Carro> lote, int primeiraLinha, Set<String> placasDoArquivo, List<ResultadoImportacao> resultados) {
+        Map<Integer, Carro> carrosValidos = new LinkedHashMap<>();
+
+        for (int i = 0; i < lote.size(); i++) {
+            int linha = primeiraLinha + i;
+            Carro carro = lote.get(i);
+
+            Set<ConstraintViolation<Carro>> violacoes = validator.validate(carro);
+            if (!violacoes.isEmpty()) {
+                String mensagem = violacoes.stream().map(ConstraintViolation::getMessage).sorted().reduce((m1, m2) -> m1 + ", " + m2).orElse("");
+                resultados.add(ResultadoImportacao.rejeitado(linha, carro.getPlaca(), StatusImportacao.INVALIDO, mensagem));
+                continue;
+            }
 
-        return placas.contains(carro.getPlaca());
+            try {
+                Carro.formataAtributos(carro);
+            } catch (AtributoInvalidoException ex) {
+                resultados.add(ResultadoImportacao.rejeitado(linha, carro.getPlaca(), StatusImportacao.PLACA_INVALIDA, ex.getMessage()));
+                continue;
+            }
+
+            if (!placasDoArquivo.add(carro.getPlaca())) {
+                resultados.add(ResultadoImportacao.rejeitado(linha, carro.getPlaca(), StatusImportacao.PLACA_DUPLICADA, "Placa repetida no arquivo de importação."));
+                continue;
+            }
+
+            carrosValidos.put(linha, carro);
+        }
+
+        if (carrosValidos.isEmpty()) {
+            return;
+        }
+
+        Set<String> placasCadastradas = new HashSet<>(carroRepository.buscaPlacasCadastradas(
+                carrosValidos.values().stream().map(Carro::getPlaca).toList()));
+
+        carrosValidos.entrySet().removeIf(linhaECarro -> {
+            String placa = linhaECarro.getValue().getPlaca();
+            if (placasCadastradas.contains(placa)) {
+                resultados.add(ResultadoImportacao.rejeitado(linhaECarro.getKey(), placa, StatusImportacao.PLACA_DUPLICADA, "Placa já está cadastrada."));
+                return true;
+            }
+            return false;
+        });
+
+        try {
+            // saveAllAndFlush passa pelo repositório: a violação da unique da placa chega aqui já traduzida para
+            // DataIntegrityViolationException (um flush direto no EntityManager deixaria escapar a exceção do Hibernate).
+            transactionTemplate.executeWithoutResult(status -> {
+                carroRepository.saveAllAndFlush(carrosValidos.values());
+                entityManager.clear();
+            });
+            indiceDisponibilidade.atualizaTodos(carrosValidos.values());
+            carrosValidos.forEach((linha, carro) -> resultados.add(ResultadoImportacao.criado(linha, carro.getPlaca(), carro.getId())));
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Lote iniciado na linha {} violou a unicidade da placa. Salvando carro a carro.", primeiraLinha);
+            // As instâncias do lote ficaram com id atribuído e presas ao contexto do insert que falhou: descarta o
+            // contexto e regrava cópias novas.
+            entityManager.clear();
+            carrosValidos.forEach((linha, carro) -> resultados.add(salvaCarroImportado(linha, copiaParaImportacao(carro))));
+        }
     }
 
-    private final Function<String, List<Carro>> filtroCarrosPorCategoria = nomeCategoria ->
-            listaEntidades()
-                    .stream()
-                    .filter(carro -> carro.getCategoria().equalsIgnoreCase(nomeCategoria))
-                    .toList();
-}
+    // Usado quando outro processo cadastra a mesma placa entre a verificação e o insert do lote.
+    private ResultadoImportacao salvaCarroImportado(int linha, Carro carro) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> carroRepository.saveAndFlush(carro));
+            indiceDisponibilidade.atualiza(carro);
+            return ResultadoImportacao.criado(linha, carro.getPlaca(), carro.getId());
+        } catch (DataIntegrityViolationException ex) {
+            return ResultadoImportacao.rejeitado(linha, carro.getPlaca(), StatusImportacao.PLACA_DUPLICADA, "Placa já está cadastrada.");
+        }
+    }
 
+    private static Carro copiaParaImportacao(Carro carro) {
+        Carro copia = new Carro(carro.getMarca(), carro.getModelo(), carro.getPlaca(), carro.getAno(), carro.getCategoria(),
+                carro.getTipoCombustivel(), carro.getValorDiaria());
+        copia.setDisponivel(carro.isDisponivel());
+        return copia;
+    }
 
+}
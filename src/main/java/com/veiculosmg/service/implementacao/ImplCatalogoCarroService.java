@@ -0,0 +1,38 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.repository.CarroCatalogoRepository;
+import com.veiculosmg.service.CatalogoCarroService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+@Slf4j
+public class ImplCatalogoCarroService implements CatalogoCarroService {
+
+    private final CarroCatalogoRepository carroCatalogoRepository;
+
+    public ImplCatalogoCarroService(CarroCatalogoRepository carroCatalogoRepository) {
+        this.carroCatalogoRepository = carroCatalogoRepository;
+    }
+
+    @Override
+    public Flux<Carro> listaCarros() {
+        log.info("Catálogo reativo de carros iniciado.");
+        return carroCatalogoRepository.todos();
+    }
+
+    @Override
+    public Flux<Carro> disponiveis() {
+        log.info("Catálogo reativo de carros disponíveis iniciado.");
+        return carroCatalogoRepository.disponiveis();
+    }
+
+    @Override
+    public Flux<Carro> daCategoria(String categoria) {
+        log.info("Catálogo reativo de carros {} iniciado.", categoria);
+        return carroCatalogoRepository.daCategoria(categoria.toUpperCase());
+    }
+
+}
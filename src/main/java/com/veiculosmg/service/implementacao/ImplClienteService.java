@@ -2,20 +2,35 @@ package com.veiculosmg.service.implementacao;
 
 import com.veiculosmg.exception.AtributoDuplicadoException;
 import com.veiculosmg.exception.MenorDeIdadeException;
+import com.veiculosmg.exception.RecursoEmUsoException;
 import com.veiculosmg.exception.RecursoNaoEncontradoException;
 import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.projecao.AtributosUnicosCliente;
+import com.veiculosmg.model.projecao.VersaoCliente;
 import com.veiculosmg.model.repository.ClienteRepository;
 import com.veiculosmg.model.repository.EnderecoRepository;
+import com.veiculosmg.model.repository.LocacaoRepository;
 import com.veiculosmg.service.ClienteService;
+import com.veiculosmg.utilitarios.ProjecaoDeCampos;
+import com.veiculosmg.utilitarios.paginacao.Cursor;
+import com.veiculosmg.utilitarios.paginacao.Pagina;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -25,23 +40,39 @@ public class ImplClienteService implements ClienteService {
 
     private final EnderecoRepository enderecoRepository;
 
-    public ImplClienteService(ClienteRepository clienteRepository, EnderecoRepository enderecoRepository) {
+    private final LocacaoRepository locacaoRepository;
+
+    private final EntityManager entityManager;
+
+    private final ProjecaoDeCampos projecaoDeCampos;
+
+    public ImplClienteService(ClienteRepository clienteRepository, EnderecoRepository enderecoRepository,
+                              LocacaoRepository locacaoRepository, EntityManager entityManager) {
         this.clienteRepository = clienteRepository;
         this.enderecoRepository = enderecoRepository;
+        this.locacaoRepository = locacaoRepository;
+        this.entityManager = entityManager;
+        this.projecaoDeCampos = ProjecaoDeCampos.de(entityManager, Cliente.class);
     }
 
     @Override
     public Cliente salvaNovaEntidade(Cliente cliente) {
         log.info("Criação de novo cliente iniciada.");
-        List<String> listaDeAtributosDuplicados = obterAtributosDuplicados(cliente);
-        try {
-            verificaSeClienteEMaiorDeIdade(cliente.getDataNascimento());
+        verificaSeClienteEMaiorDeIdade(cliente.getDataNascimento());
+
+        List<String> listaDeAtributosDuplicados = obterAtributosDuplicados(cliente, null);
+        if (!listaDeAtributosDuplicados.isEmpty()) {
+            log.error("Erro. Atributos {} já estão vinculados a outro cliente.", listaDeAtributosDuplicados);
+            throw new AtributoDuplicadoException("Os seguintes atributos já estão vinculados a outro cliente: " + listaDeAtributosDuplicados);
+        }
 
+        try {
             clienteRepository.save(cliente);
 
             log.info("Criação de novo cliente concluída.");
             return cliente;
         } catch (DataIntegrityViolationException ex) {
+            listaDeAtributosDuplicados = obterAtributosDuplicados(cliente, null);
             log.error("Erro. Atributos {} já estão vinculados a outro cliente.", listaDeAtributosDuplicados);
             throw new AtributoDuplicadoException("Os seguintes atributos já estão vinculados a outro cliente: " + listaDeAtributosDuplicados);
         }
@@ -55,19 +86,68 @@ public class ImplClienteService implements ClienteService {
         return clienteRepository.findAll();
     }
 
+    @Override
+    public Pagina<Cliente> listaEntidades(String cursor, int tamanho) {
+        log.info("Busca paginada de clientes iniciada.");
+        List<Cliente> clientes = clienteRepository.findByIdGreaterThanOrderByIdAsc(Cursor.decodifica(cursor), PageRequest.of(0, tamanho + 1));
+
+        return Pagina.de(clientes, tamanho, Cliente::getId);
+    }
+
+    @Override
+    public List<Map<String, Object>> listaCampos(Set<String> campos) {
+        log.info("Busca dos campos {} de clientes iniciada.", campos);
+        return projecaoDeCampos.busca(campos, 0L, null);
+    }
+
+    @Override
+    public Pagina<Map<String, Object>> listaCampos(Set<String> campos, String cursor, int tamanho) {
+        log.info("Busca paginada dos campos {} de clientes iniciada.", campos);
+        List<Map<String, Object>> registros = projecaoDeCampos.busca(campos, Cursor.decodifica(cursor), tamanho + 1);
+
+        return Pagina.de(registros, tamanho, ProjecaoDeCampos::id);
+    }
+
     @Override
     public Optional<Cliente> entidadePorId(Long id) {
         return Optional.of(verificaSeClienteExiste(id));
     }
 
+    @Override
+    public VersaoCliente versaoPorId(Long id) {
+        return clienteRepository.buscaVersao(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Cliente com Id: " + id + " Não Encontrado!"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportaEntidades(boolean incluiEndereco, Consumer<Cliente> consumidor) {
+        log.info("Exportação de clientes iniciada.");
+        if (!incluiEndereco) {
+            try (Stream<Cliente> clientes = clienteRepository.streamTodosSemEndereco()) {
+                clientes.forEach(consumidor);
+            }
+            log.info("Exportação de clientes concluída.");
+            return;
+        }
+
+        try (Stream<Cliente> clientes = clienteRepository.streamTodosComEndereco()) {
+            clientes.forEach(cliente -> {
+                entityManager.detach(cliente);
+                consumidor.accept(cliente);
+            });
+        }
+        log.info("Exportação de clientes concluída.");
+    }
+
     @Override
     public void updateEntidade(Cliente clienteAtualizado, Long id) {
-        log.info("Atualização do Cliente Id:{}", id + " iniciada.");
+        log.info("Atualização do Cliente Id:{} iniciada.", id);
         try {
-            Cliente clienteCadastradoComIdInformado = verificaSeClienteExiste(id);
+            verificaSeClienteExiste(id);
 
             log.info("Verificando se CPF, Número de Telefone ou Email passado no cliente atualizado já está vinculada a outro cliente");
-            verificaSeCpfEmailENumeroTelefoneJaEstaCadastrado(clienteCadastradoComIdInformado, clienteAtualizado);
+            verificaSeCpfEmailENumeroTelefoneJaEstaCadastrado(id, clienteAtualizado);
 
             clienteAtualizado.setId(id);
 
@@ -81,34 +161,25 @@ public class ImplClienteService implements ClienteService {
 
     @Override
     public void deletaEntidade(Long id) {
-        log.info("Delete do Cliente Id:{}", id + " iniciada.");
+        log.info("Delete do Cliente Id:{} iniciada.", id);
+
+        log.info("Verificando se Cliente Id:{} existe.", id);
+        Cliente cliente = verificaSeClienteExiste(id);
 
-        log.info("Verificando se Cliente Id:{}", id + " existe.");
-        verificaSeClienteExiste(id);
+        if (locacaoRepository.existsByClienteId(id)) {
+            log.info("Cliente com Id: {} possui locações.", id);
+            throw new RecursoEmUsoException("Cliente com Id: " + id + " possui locações e não pode ser deletado.");
+        }
 
+        // delete(entidade) em vez de um delete em lote para manter o cascade para o endereço.
         log.info("Delete do Cliente concluído");
-        clienteRepository.deleteById(id);
+        clienteRepository.delete(cliente);
     }
 
     /* Privado */
-    private void verificaSeCpfEmailENumeroTelefoneJaEstaCadastrado(Cliente clienteCadastrado, Cliente clienteAtualizado) {
+    private void verificaSeCpfEmailENumeroTelefoneJaEstaCadastrado(Long idClienteCadastrado, Cliente clienteAtualizado) {
         log.info("Iniciando a verificação dos campos atualizados do cliente.");
-        List<String> camposDuplicados = new ArrayList<>();
-        String cpf = clienteAtualizado.getCpf();
-        String numeroTelefone = clienteAtualizado.getNumeroTelefone();
-        String email = clienteAtualizado.getEmail();
-
-        if (!clienteCadastrado.getCpf().equals(cpf) && clienteRepository.existsByCpf(cpf)) {
-            camposDuplicados.add("CPF");
-        }
-
-        if (!clienteCadastrado.getNumeroTelefone().equals(numeroTelefone) && clienteRepository.existsByNumeroTelefone(numeroTelefone)) {
-            camposDuplicados.add("Número de Telefone");
-        }
-
-        if (!clienteCadastrado.getEmail().equals(email) && clienteRepository.existsByEmail(email)) {
-            camposDuplicados.add("E-mail");
-        }
+        List<String> camposDuplicados = obterAtributosDuplicados(clienteAtualizado, idClienteCadastrado);
 
         if (!camposDuplicados.isEmpty()) {
             log.error("Erro. Atributos já estão vinculados a outro cliente: {}", camposDuplicados);
@@ -132,7 +203,7 @@ public class ImplClienteService implements ClienteService {
         Optional<Cliente> existeClienteComOIdInformado = clienteRepository.findById(id);
 
         if (existeClienteComOIdInformado.isEmpty()) {
-            log.info("Cliente com Id: {}", id + " não encontrado!");
+            log.info("Cliente com Id: {} não encontrado!", id);
             throw new RecursoNaoEncontradoException("Cliente com Id: " + id + " Não Encontrado!");
         }
 
@@ -140,22 +211,25 @@ public class ImplClienteService implements ClienteService {
         return existeClienteComOIdInformado.get();
     }
 
-    private List<String> obterAtributosDuplicados(Cliente clienteParaVerificarCampos) throws DataIntegrityViolationException {
+    private List<String> obterAtributosDuplicados(Cliente clienteParaVerificarCampos, Long idIgnorado) {
+        List<AtributosUnicosCliente> atributosEmUso = clienteRepository.buscaAtributosUnicosEmUso(
+                clienteParaVerificarCampos.getCpf(),
+                clienteParaVerificarCampos.getNumeroTelefone(),
+                clienteParaVerificarCampos.getEmail(),
+                idIgnorado);
+
         List<String> listaDeCamposDuplicados = new ArrayList<>();
-        clienteRepository.findAll().forEach(cliente -> {
-            if (cliente.getCpf().equals(clienteParaVerificarCampos.getCpf())) {
-                listaDeCamposDuplicados.add("CPF");
-            }
-            if (cliente.getNumeroTelefone().equals(clienteParaVerificarCampos.getNumeroTelefone())) {
-                listaDeCamposDuplicados.add("Número Telefone");
-            }
-            if (cliente.getEmail().equalsIgnoreCase(clienteParaVerificarCampos.getEmail())) {
-                listaDeCamposDuplicados.add("Email");
-            }
-        });
+        if (atributosEmUso.stream().anyMatch(cliente -> clienteParaVerificarCampos.getCpf().equals(cliente.getCpf()))) {
+            listaDeCamposDuplicados.add("CPF");
+        }
+        if (atributosEmUso.stream().anyMatch(cliente -> clienteParaVerificarCampos.getNumeroTelefone().equals(cliente.getNumeroTelefone()))) {
+            listaDeCamposDuplicados.add("Número Telefone");
+        }
+        if (atributosEmUso.stream().anyMatch(cliente -> clienteParaVerificarCampos.getEmail().equalsIgnoreCase(cliente.getEmail()))) {
+            listaDeCamposDuplicados.add("Email");
+        }
 
         return listaDeCamposDuplicados;
     }
 
-
 }
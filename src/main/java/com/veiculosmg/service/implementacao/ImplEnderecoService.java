@@ -2,13 +2,21 @@ package com.veiculosmg.service.implementacao;
 
 import com.veiculosmg.exception.RecursoNaoEncontradoException;
 import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.projecao.VersaoRegistro;
 import com.veiculosmg.model.repository.EnderecoRepository;
 import com.veiculosmg.service.EnderecoService;
+import com.veiculosmg.utilitarios.ProjecaoDeCampos;
+import com.veiculosmg.utilitarios.paginacao.Cursor;
+import com.veiculosmg.utilitarios.paginacao.Pagina;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Slf4j
@@ -16,8 +24,11 @@ public class ImplEnderecoService implements EnderecoService {
 
     private final EnderecoRepository enderecoRepository;
 
-    public ImplEnderecoService(EnderecoRepository enderecoRepository) {
+    private final ProjecaoDeCampos projecaoDeCampos;
+
+    public ImplEnderecoService(EnderecoRepository enderecoRepository, EntityManager entityManager) {
         this.enderecoRepository = enderecoRepository;
+        this.projecaoDeCampos = ProjecaoDeCampos.de(entityManager, Endereco.class);
     }
 
 
@@ -33,14 +44,42 @@ public class ImplEnderecoService implements EnderecoService {
         return enderecoRepository.findAll();
     }
 
+    @Override
+    public Pagina<Endereco> listaEntidades(String cursor, int tamanho) {
+        log.info("Busca paginada de endereços iniciada.");
+        List<Endereco> enderecos = enderecoRepository.findByIdGreaterThanOrderByIdAsc(Cursor.decodifica(cursor), PageRequest.of(0, tamanho + 1));
+
+        return Pagina.de(enderecos, tamanho, Endereco::getId);
+    }
+
+    @Override
+    public List<Map<String, Object>> listaCampos(Set<String> campos) {
+        log.info("Busca dos campos {} de endereços iniciada.", campos);
+        return projecaoDeCampos.busca(campos, 0L, null);
+    }
+
+    @Override
+    public Pagina<Map<String, Object>> listaCampos(Set<String> campos, String cursor, int tamanho) {
+        log.info("Busca paginada dos campos {} de endereços iniciada.", campos);
+        List<Map<String, Object>> registros = projecaoDeCampos.busca(campos, Cursor.decodifica(cursor), tamanho + 1);
+
+        return Pagina.de(registros, tamanho, ProjecaoDeCampos::id);
+    }
+
     @Override
     public Optional<Endereco> entidadePorId(Long id) {
         return Optional.of(verificaSeEnderecoExiste(id));
     }
 
+    @Override
+    public VersaoRegistro versaoPorId(Long id) {
+        return enderecoRepository.buscaVersao(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Endereço com Id: " + id + " Não Encontrado!"));
+    }
+
     @Override
     public void updateEntidade(Endereco enderecoAtualizado, Long id) {
-        log.info("Atualização do endereço Id:{}", id + " iniciada.");
+        log.info("Atualização do endereço Id:{} iniciada.", id);
         Endereco endereco = verificaSeEnderecoExiste(id);
 
         enderecoAtualizado.setId(endereco.getId());
@@ -51,11 +90,14 @@ public class ImplEnderecoService implements EnderecoService {
 
     @Override
     public void deletaEntidade(Long id) {
-        log.info("Delete do endereço Id:{}", id + " iniciada.");
-        verificaSeEnderecoExiste(id);
+        log.info("Delete do endereço Id:{} iniciada.", id);
+
+        if (enderecoRepository.deletaPorId(id) == 0) {
+            log.info("Endereço com Id: {} não encontrado!", id);
+            throw new RecursoNaoEncontradoException("Endereço com Id: " + id + " Não Encontrado!");
+        }
 
         log.info("Delete do endereço concluído.");
-        enderecoRepository.deleteById(id);
     }
 
     /* Privado */
@@ -65,7 +107,7 @@ public class ImplEnderecoService implements EnderecoService {
         Optional<Endereco> existeEnderecoComIdInformado = enderecoRepository.findById(id);
 
         if (existeEnderecoComIdInformado.isEmpty()) {
-            log.info("Endereço com Id: {}", id + " não encontrado!");
+            log.info("Endereço com Id: {} não encontrado!", id);
             throw new RecursoNaoEncontradoException("Endereço com Id: " + id + " Não Encontrado!");
         }
 
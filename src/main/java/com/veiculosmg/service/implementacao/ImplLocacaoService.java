@@ -0,0 +1,173 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.configuration.LocacaoConfig;
+import com.veiculosmg.exception.AtributoInvalidoException;
+import com.veiculosmg.exception.RecursoNaoEncontradoException;
+import com.veiculosmg.exception.ReservaIndisponivelException;
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Locacao;
+import com.veiculosmg.model.locacao.LocacaoDoCarro;
+import com.veiculosmg.model.locacao.PeriodoReservado;
+import com.veiculosmg.model.locacao.SolicitacaoLocacao;
+import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.model.repository.ClienteRepository;
+import com.veiculosmg.model.repository.LocacaoRepository;
+import com.veiculosmg.service.LocacaoService;
+import com.veiculosmg.utilitarios.LocksListrados;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+@Service
+@Slf4j
+public class ImplLocacaoService implements LocacaoService {
+
+    private final LocacaoRepository locacaoRepository;
+
+    private final CarroRepository carroRepository;
+
+    private final ClienteRepository clienteRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final LocacaoConfig locacaoConfig;
+
+    private final LocksListrados locksPorCarro;
+
+    private final IndiceReservasCarros indiceReservas;
+
+    public ImplLocacaoService(LocacaoRepository locacaoRepository, CarroRepository carroRepository, ClienteRepository clienteRepository,
+                              TransactionTemplate transactionTemplate, LocacaoConfig locacaoConfig, IndiceReservasCarros indiceReservas) {
+        this.locacaoRepository = locacaoRepository;
+        this.carroRepository = carroRepository;
+        this.clienteRepository = clienteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.locacaoConfig = locacaoConfig;
+        this.locksPorCarro = new LocksListrados(locacaoConfig.getListrasDeLock());
+        this.indiceReservas = indiceReservas;
+    }
+
+    @Override
+    public Locacao reserva(SolicitacaoLocacao solicitacao) {
+        log.info("Reserva do carro Id:{} iniciada.", solicitacao.carroId());
+        verificaPeriodo(solicitacao);
+
+        // Lock do carro nesta instância: requisições concorrentes pelo mesmo carro não chegam a esperar no lock de linha do banco.
+        Lock lock = locksPorCarro.lockDa(solicitacao.carroId());
+        if (!tentaLock(lock)) {
+            log.warn("Carro Id: {} está sendo reservado por outra requisição.", solicitacao.carroId());
+            throw new ReservaIndisponivelException("Carro Id: " + solicitacao.carroId() + " está sendo reservado por outra requisição. Tente novamente.");
+        }
+
+        try {
+            Locacao locacao = transactionTemplate.execute(status -> salvaLocacao(solicitacao));
+            indiceReservas.adiciona(periodoDa(locacao));
+
+            log.info("Reserva do carro concluída.");
+            return locacao;
+        } catch (PessimisticLockingFailureException ex) {
+            // Lock da linha do carro preso por outra instância da aplicação (NOWAIT no buscaParaReserva).
+            log.warn("Carro Id: {} está sendo reservado em outra instância.", solicitacao.carroId());
+            throw new ReservaIndisponivelException("Carro Id: " + solicitacao.carroId() + " está sendo reservado por outra requisição. Tente novamente.");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Locacao> entidadePorId(Long id) {
+        return Optional.of(verificaSeLocacaoExiste(id));
+    }
+
+    @Override
+    public List<LocacaoDoCarro> locacoesDoCarro(Long carroId) {
+        log.info("Busca de locações do carro Id:{} iniciada.", carroId);
+        return locacaoRepository.buscaLocacoesDoCarro(carroId);
+    }
+
+    @Override
+    public void cancela(Long id) {
+        log.info("Cancelamento da locação Id:{} iniciado.", id);
+        Locacao locacao = verificaSeLocacaoExiste(id);
+
+        log.info("Cancelamento da locação concluído.");
+        locacaoRepository.delete(locacao);
+        indiceReservas.remove(periodoDa(locacao));
+    }
+
+    /* Privado */
+
+    private PeriodoReservado periodoDa(Locacao locacao) {
+        return new PeriodoReservado(locacao.getCarro().getId(), locacao.getDataInicio(), locacao.getDataFim());
+    }
+
+    // Executado com o lock do carro e dentro da transação. O lock pessimista na linha do carro serializa
+    // reservas do mesmo carro também entre instâncias diferentes da aplicação.
+    private Locacao salvaLocacao(SolicitacaoLocacao solicitacao) {
+        Carro carro = carroRepository.buscaParaReserva(solicitacao.carroId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Carro com Id: " + solicitacao.carroId() + " não Encontrado!"));
+
+        // Lido com a linha já travada: um carro retirado da frota enquanto a reserva esperava o lock também é recusado.
+        if (!carro.isDisponivel()) {
+            log.warn("Carro Id: {} não está disponível para locação.", carro.getId());
+            throw new ReservaIndisponivelException("Carro Id: " + carro.getId() + " não está disponível para locação.");
+        }
+
+        Cliente cliente = clienteRepository.findById(solicitacao.clienteId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Cliente com Id: " + solicitacao.clienteId() + " Não Encontrado!"));
+
+        if (locacaoRepository.existeLocacaoNoPeriodo(carro.getId(), solicitacao.dataInicio(), solicitacao.dataFim())) {
+            log.warn("Carro Id: {} já está reservado no período informado.", carro.getId());
+            throw new ReservaIndisponivelException("Carro Id: " + carro.getId() + " já está reservado entre "
+                    + solicitacao.dataInicio() + " e " + solicitacao.dataFim() + ".");
+        }
+
+        return locacaoRepository.save(new Locacao(cliente, carro, solicitacao.dataInicio(), solicitacao.dataFim(),
+                calculaValorTotal(carro, solicitacao)));
+    }
+
+    private boolean tentaLock(Lock lock) {
+        try {
+            return lock.tryLock(locacaoConfig.getEsperaPorLock().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void verificaPeriodo(SolicitacaoLocacao solicitacao) {
+        if (!solicitacao.dataFim().isAfter(solicitacao.dataInicio())) {
+            throw new AtributoInvalidoException("Data de devolução deve ser posterior à data de início.");
+        }
+    }
+
+    private BigDecimal calculaValorTotal(Carro carro, SolicitacaoLocacao solicitacao) {
+        long dias = ChronoUnit.DAYS.between(solicitacao.dataInicio(), solicitacao.dataFim());
+        return BigDecimal.valueOf(carro.getValorDiaria())
+                .multiply(BigDecimal.valueOf(dias))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private Locacao verificaSeLocacaoExiste(Long id) {
+        log.info("Verificando se a locação existe.");
+        Optional<Locacao> existeLocacaoComOIdInformado = locacaoRepository.findById(id);
+
+        if (existeLocacaoComOIdInformado.isEmpty()) {
+            log.info("Locação com Id: {} não encontrada!", id);
+            throw new RecursoNaoEncontradoException("Locação com Id: " + id + " não Encontrada!");
+        }
+
+        return existeLocacaoComOIdInformado.get();
+    }
+
+}
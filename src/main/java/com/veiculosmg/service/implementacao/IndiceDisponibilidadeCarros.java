@@ -0,0 +1,250 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.repository.CarroRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Escritas em O(log n) nos mapas ordenados por id de cada categoria e dos disponíveis, com o lock do índice; leituras
+// sem lock. Uma leitura concorrente com atualizaTodos pode ver só parte do lote.
+@Component
+@Slf4j
+public class IndiceDisponibilidadeCarros {
+
+    private static final int TAMANHO_PAGINA_RECONCILIACAO = 1000;
+
+    private final CarroRepository carroRepository;
+
+    // Alterações feitas enquanto a reconciliação lê o banco; prevalecem sobre o que foi lido. Valor null = removido.
+    private Map<Long, Carro> alteracoesDuranteReconciliacao;
+
+    // Null até a primeira carga: nesse intervalo o serviço responde pelo banco.
+    private volatile Estado estado;
+
+    public IndiceDisponibilidadeCarros(CarroRepository carroRepository) {
+        this.carroRepository = carroRepository;
+    }
+
+    public Optional<List<Carro>> disponiveis() {
+        Estado atual = estado;
+        return atual == null ? Optional.empty() : Optional.of(atual.disponiveis.lista());
+    }
+
+    public Optional<List<Carro>> daCategoria(String categoria) {
+        Estado atual = estado;
+        if (atual == null) {
+            return Optional.empty();
+        }
+
+        Categoria bloco = atual.categorias.get(categoria.toUpperCase());
+        return Optional.of(bloco == null ? List.of() : bloco.carros.lista());
+    }
+
+    public Optional<Map<String, Map<String, Long>>> contagemDisponiveis() {
+        Estado atual = estado;
+        return atual == null ? Optional.empty() : Optional.of(atual.contagemDisponiveis());
+    }
+
+    public synchronized void atualiza(Carro carro) {
+        registra(carro.getId(), copia(carro));
+    }
+
+    public synchronized void atualizaTodos(Collection<Carro> carros) {
+        carros.forEach(carro -> registra(carro.getId(), copia(carro)));
+    }
+
+    public synchronized void remove(Long id) {
+        registra(id, null);
+    }
+
+    @Scheduled(fixedDelayString = "${veiculosmg.indice-disponibilidade.reconciliacao:PT15M}")
+    public void reconcilia() {
+        synchronized (this) {
+            alteracoesDuranteReconciliacao = new HashMap<>();
+        }
+
+        try {
+            Estado novo = leCarrosDoBanco();
+
+            synchronized (this) {
+                alteracoesDuranteReconciliacao.forEach(novo::aplica);
+                estado = novo;
+                log.info("Índice de disponibilidade reconciliado com {} carros.", novo.porId.size());
+            }
+        } catch (RuntimeException ex) {
+            log.error("Erro ao reconciliar o índice de disponibilidade com o banco.", ex);
+        } finally {
+            synchronized (this) {
+                alteracoesDuranteReconciliacao = null;
+            }
+        }
+    }
+
+    /* Privado */
+
+    private void registra(Long id, Carro carro) {
+        if (alteracoesDuranteReconciliacao != null) {
+            alteracoesDuranteReconciliacao.put(id, carro);
+        }
+        // Antes da primeira carga não há estado a alterar: a carga lê do banco o que já foi salvo.
+        if (estado != null) {
+            estado.aplica(id, carro);
+        }
+    }
+
+    // Keyset por id, página a página: cada consulta usa a conexão só pelo tempo da página. O estado novo só é
+    // publicado no fim, então é montado sem lock.
+    private Estado leCarrosDoBanco() {
+        Estado novo = new Estado();
+        long ultimoId = 0L;
+        List<Carro> pagina;
+
+        do {
+            pagina = carroRepository.buscaPaginaParaIndice(ultimoId, PageRequest.of(0, TAMANHO_PAGINA_RECONCILIACAO));
+            for (Carro carro : pagina) {
+                novo.aplica(carro.getId(), copia(carro));
+                ultimoId = carro.getId();
+            }
+        } while (pagina.size() == TAMANHO_PAGINA_RECONCILIACAO);
+
+        return novo;
+    }
+
+    // Cópia desacoplada do contexto de persistência, para o índice não enxergar alterações não salvas.
+    private static Carro copia(Carro carro) {
+        return new Carro(carro.getId(), carro.getMarca(), carro.getModelo(), carro.getPlaca(), carro.getAno(),
+                carro.getCategoria(), carro.getTipoCombustivel(), carro.getValorDiaria(), carro.isDisponivel());
+    }
+
+    private static final class Estado {
+
+        // Versão indexada de cada carro: diz de qual categoria e grupo de combustível uma escrita tira o carro.
+        // Só as escritas usam, com o lock do índice.
+        private final Map<Long, Carro> porId = new HashMap<>();
+
+        private final Map<String, Categoria> categorias = new ConcurrentHashMap<>();
+
+        private final CarrosPorId disponiveis = new CarrosPorId();
+
+        void aplica(Long id, Carro carro) {
+            Carro anterior = carro == null ? porId.remove(id) : porId.put(id, carro);
+
+            if (anterior != null && (carro == null || !anterior.getCategoria().equals(carro.getCategoria()))) {
+                Categoria antiga = categorias.get(anterior.getCategoria());
+                antiga.remove(anterior);
+                if (antiga.carros.vazio()) {
+                    categorias.remove(anterior.getCategoria());
+                }
+                anterior = null;
+            }
+            if (carro != null) {
+                categorias.computeIfAbsent(carro.getCategoria(), nome -> new Categoria()).grava(carro, anterior);
+            }
+
+            if (carro != null && carro.isDisponivel()) {
+                disponiveis.grava(carro);
+            } else {
+                disponiveis.remove(id);
+            }
+        }
+
+        Map<String, Map<String, Long>> contagemDisponiveis() {
+            Map<String, Map<String, Long>> contagem = new TreeMap<>();
+            categorias.forEach((nome, categoria) -> {
+                if (!categoria.disponiveisPorCombustivel.isEmpty()) {
+                    contagem.put(nome, Collections.unmodifiableMap(new TreeMap<>(categoria.disponiveisPorCombustivel)));
+                }
+            });
+            return Collections.unmodifiableMap(contagem);
+        }
+
+    }
+
+    private static final class Categoria {
+
+        private final CarrosPorId carros = new CarrosPorId();
+
+        // Quantidade de disponíveis de cada grupo (categoria, tipo de combustível); sem entrada quando chega a zero.
+        private final Map<String, Long> disponiveisPorCombustivel = new ConcurrentHashMap<>();
+
+        // anterior: versão do mesmo carro já indexada nesta categoria, ou null.
+        void grava(Carro carro, Carro anterior) {
+            if (anterior != null) {
+                descontaDisponivel(anterior);
+            }
+            carros.grava(carro);
+            if (carro.isDisponivel()) {
+                disponiveisPorCombustivel.merge(carro.getTipoCombustivel(), 1L, Long::sum);
+            }
+        }
+
+        void remove(Carro anterior) {
+            carros.remove(anterior.getId());
+            descontaDisponivel(anterior);
+        }
+
+        private void descontaDisponivel(Carro anterior) {
+            if (anterior.isDisponivel()) {
+                disponiveisPorCombustivel.computeIfPresent(anterior.getTipoCombustivel(), (tipo, quantidade) -> quantidade == 1 ? null : quantidade - 1);
+            }
+        }
+
+    }
+
+    // Carros ordenados por id. A lista devolvida é montada na primeira leitura depois de uma escrita e reaproveitada
+    // até a próxima: uma escrita numa categoria não refaz a lista das outras.
+    private static final class CarrosPorId {
+
+        private final ConcurrentSkipListMap<Long, Carro> carros = new ConcurrentSkipListMap<>();
+
+        // Incrementada depois de cada alteração do mapa (só pelas escritas, com o lock do índice).
+        private volatile long versao;
+
+        private volatile Lista lista;
+
+        void grava(Carro carro) {
+            carros.put(carro.getId(), carro);
+            versao++;
+        }
+
+        void remove(Long id) {
+            if (carros.remove(id) != null) {
+                versao++;
+            }
+        }
+
+        boolean vazio() {
+            return carros.isEmpty();
+        }
+
+        // A versão é lida antes do mapa: uma lista montada durante uma escrita fica com a versão antiga e é refeita.
+        List<Carro> lista() {
+            long versaoAtual = versao;
+            Lista atual = lista;
+            if (atual != null && atual.versao() == versaoAtual) {
+                return atual.carros();
+            }
+
+            List<Carro> montada = List.copyOf(carros.values());
+            lista = new Lista(versaoAtual, montada);
+            return montada;
+        }
+
+        private record Lista(long versao, List<Carro> carros) {
+        }
+
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.locacao.PeriodoReservado;
+import com.veiculosmg.model.repository.LocacaoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class IndiceReservasCarros {
+
+    private final LocacaoRepository locacaoRepository;
+
+    // Null até a primeira carga: nesse intervalo a busca por período responde pelo banco.
+    private volatile Estado estado;
+
+    // Escritas feitas enquanto a reconciliação lê o banco; reaplicadas sobre o que foi lido.
+    private List<Consumer<Map<Long, Periodos>>> alteracoesDuranteReconciliacao;
+
+    public IndiceReservasCarros(LocacaoRepository locacaoRepository) {
+        this.locacaoRepository = locacaoRepository;
+    }
+
+    // Vazio quando o índice não cobre o período; quem chama deve consultar o banco.
+    public Optional<List<Carro>> filtraLivres(List<Carro> candidatos, LocalDate dataInicio, LocalDate dataFim) {
+        Estado atual = estado;
+        if (atual == null || dataInicio.isBefore(atual.inicioDaJanela())) {
+            return Optional.empty();
+        }
+
+        int inicio = (int) dataInicio.toEpochDay();
+        int fim = (int) dataFim.toEpochDay();
+        return Optional.of(candidatos.stream()
+                .filter(carro -> {
+                    Periodos periodos = atual.periodosPorCarro().get(carro.getId());
+                    return periodos == null || !periodos.sobrepoe(inicio, fim);
+                })
+                .toList());
+    }
+
+    public synchronized void adiciona(PeriodoReservado periodo) {
+        aplica(periodosPorCarro -> periodosPorCarro.compute(periodo.carroId(), (carroId, periodos) ->
+                (periodos == null ? Periodos.VAZIO : periodos).com((int) periodo.dataInicio().toEpochDay(), (int) periodo.dataFim().toEpochDay())));
+    }
+
+    public synchronized void remove(PeriodoReservado periodo) {
+        aplica(periodosPorCarro -> periodosPorCarro.computeIfPresent(periodo.carroId(), (carroId, periodos) ->
+                periodos.sem((int) periodo.dataInicio().toEpochDay(), (int) periodo.dataFim().toEpochDay())));
+    }
+
+    @Scheduled(fixedDelayString = "${veiculosmg.indice-reservas.reconciliacao:PT5M}")
+    @Transactional(readOnly = true)
+    public void reconcilia() {
+        synchronized (this) {
+            alteracoesDuranteReconciliacao = new ArrayList<>();
+        }
+
+        try {
+            // Locações encerradas antes da janela não conflitam com buscas a partir dela e ficam fora da memória.
+            LocalDate inicioDaJanela = LocalDate.now();
+            Map<Long, List<int[]>> lidosPorCarro = new HashMap<>();
+            try (Stream<PeriodoReservado> periodos = locacaoRepository.streamPeriodosTerminandoApos(inicioDaJanela)) {
+                periodos.forEach(periodo -> lidosPorCarro.computeIfAbsent(periodo.carroId(), carroId -> new ArrayList<>())
+                        .add(new int[]{(int) periodo.dataInicio().toEpochDay(), (int) periodo.dataFim().toEpochDay()}));
+            }
+
+            ConcurrentHashMap<Long, Periodos> periodosPorCarro = new ConcurrentHashMap<>(Math.max(16, lidosPorCarro.size() * 2));
+            lidosPorCarro.forEach((carroId, lidos) -> periodosPorCarro.put(carroId, Periodos.de(lidos)));
+
+            synchronized (this) {
+                alteracoesDuranteReconciliacao.forEach(alteracao -> alteracao.accept(periodosPorCarro));
+                estado = new Estado(inicioDaJanela, periodosPorCarro);
+            }
+            log.info("Índice de reservas reconciliado com {} carros reservados.", periodosPorCarro.size());
+        } catch (RuntimeException ex) {
+            log.error("Erro ao reconciliar o índice de reservas com o banco.", ex);
+        } finally {
+            synchronized (this) {
+                alteracoesDuranteReconciliacao = null;
+            }
+        }
+    }
+
+    /* Privado */
+
+    private void aplica(Consumer<Map<Long, Periodos>> alteracao) {
+        Estado atual = estado;
+        if (atual != null) {
+            alteracao.accept(atual.periodosPorCarro());
+        }
+        if (alteracoesDuranteReconciliacao != null) {
+            alteracoesDuranteReconciliacao.add(alteracao);
+        }
+    }
+
+    private record Estado(LocalDate inicioDaJanela, ConcurrentHashMap<Long, Periodos> periodosPorCarro) {
+    }
+
+    // Períodos de um carro em dias desde a época, ordenados pelo início. maioresFins[i] guarda o maior fim até i,
+    // então "existe período começando antes de fim e terminando depois de inicio" vira uma busca binária.
+    // Imutável: leitores concorrentes nunca veem um array pela metade.
+    record Periodos(int[] inicios, int[] fins, int[] maioresFins) {
+
+        static final Periodos VAZIO = new Periodos(new int[0], new int[0], new int[0]);
+
+        static Periodos de(List<int[]> periodos) {
+            periodos.sort((p1, p2) -> p1[0] != p2[0] ? Integer.compare(p1[0], p2[0]) : Integer.compare(p1[1], p2[1]));
+            int[] inicios = new int[periodos.size()];
+            int[] fins = new int[periodos.size()];
+            for (int i = 0; i < periodos.size(); i++) {
+                inicios[i] = periodos.get(i)[0];
+                fins[i] = periodos.get(i)[1];
+            }
+            return new Periodos(inicios, fins, maioresFins(fins));
+        }
+
+        boolean sobrepoe(int inicio, int fim) {
+            int ultimoIniciadoAntesDoFim = ultimoIndiceComInicioMenorQue(fim);
+            return ultimoIniciadoAntesDoFim >= 0 && maioresFins[ultimoIniciadoAntesDoFim] > inicio;
+        }
+
+        Periodos com(int inicio, int fim) {
+            if (indiceDe(inicio, fim) >= 0) {
+                return this;
+            }
+
+            int posicao = ultimoIndiceComInicioMenorQue(inicio) + 1;
+            int[] novosInicios = insere(inicios, posicao, inicio);
+            int[] novosFins = insere(fins, posicao, fim);
+            return new Periodos(novosInicios, novosFins, maioresFins(novosFins));
+        }
+
+        Periodos sem(int inicio, int fim) {
+            int posicao = indiceDe(inicio, fim);
+            if (posicao < 0) {
+                return this;
+            }
+            if (inicios.length == 1) {
+                return null;
+            }
+
+            int[] novosFins = remove(fins, posicao);
+            return new Periodos(remove(inicios, posicao), novosFins, maioresFins(novosFins));
+        }
+
+        private int ultimoIndiceComInicioMenorQue(int valor) {
+            int baixo = 0;
+            int alto = inicios.length - 1;
+            while (baixo <= alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (inicios[meio] < valor) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio - 1;
+                }
+            }
+            return alto;
+        }
+
+        private int indiceDe(int inicio, int fim) {
+            for (int i = ultimoIndiceComInicioMenorQue(inicio) + 1; i < inicios.length && inicios[i] == inicio; i++) {
+                if (fins[i] == fim) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static int[] maioresFins(int[] fins) {
+            int[] maiores = new int[fins.length];
+            int maior = Integer.MIN_VALUE;
+            for (int i = 0; i < fins.length; i++) {
+                maior = Math.max(maior, fins[i]);
+                maiores[i] = maior;
+            }
+            return maiores;
+        }
+
+        private static int[] insere(int[] valores, int posicao, int valor) {
+            int[] novos = Arrays.copyOf(valores, valores.length + 1);
+            System.arraycopy(valores, posicao, novos, posicao + 1, valores.length - posicao);
+            novos[posicao] = valor;
+            return novos;
+        }
+
+        private static int[] remove(int[] valores, int posicao) {
+            int[] novos = new int[valores.length - 1];
+            System.arraycopy(valores, 0, novos, 0, posicao);
+            System.arraycopy(valores, posicao + 1, novos, posicao, valores.length - posicao - 1);
+            return novos;
+        }
+
+    }
+
+}
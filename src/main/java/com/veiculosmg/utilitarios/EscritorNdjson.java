@@ -0,0 +1,42 @@
+package com.veiculosmg.utilitarios;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Escreve um objeto JSON por linha (NDJSON) diretamente no OutputStream, sem acumular a resposta em memória.
+// O flush fica a cargo do buffer do gerador e do close(), não de cada linha.
+public class EscritorNdjson implements Closeable {
+
+    private final ObjectWriter escritor;
+    private final JsonGenerator gerador;
+
+    public EscritorNdjson(ObjectMapper objectMapper, OutputStream saida) throws IOException {
+        this.escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.gerador = objectMapper.getFactory().createGenerator(saida);
+        this.gerador.setRootValueSeparator(null);
+        this.gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public void escreve(Object valor) {
+        try {
+            escritor.writeValue(gerador, valor);
+            gerador.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Sem AUTO_CLOSE_TARGET o close do gerador só esvazia o buffer e dá o flush no OutputStream.
+        gerador.close();
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.veiculosmg.utilitarios;
+
+import com.veiculosmg.exception.AtributoInvalidoException;
+import com.veiculosmg.model.entity.Carro;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Colunas esperadas: marca, modelo, placa, ano, categoria, tipoCombustivel, valorDiaria.
+// Aceita separador "," ou ";" (neste caso a diária pode usar vírgula decimal) e cabeçalho opcional.
+public class LeitorCsvCarro {
+
+    private static final int QUANTIDADE_COLUNAS = 7;
+
+    public static List<Carro> le(String conteudo) {
+        List<Carro> carros = new ArrayList<>();
+        String[] linhas = conteudo.split("\\r?\\n");
+
+        for (int i = 0; i < linhas.length; i++) {
+            String linha = linhas[i].strip();
+            if (linha.isEmpty() || (i == 0 && linha.toLowerCase().startsWith("marca"))) {
+                continue;
+            }
+            carros.add(converteLinha(linha, i + 1));
+        }
+
+        return carros;
+    }
+
+    private static Carro converteLinha(String linha, int numeroLinha) {
+        boolean separadorPontoEVirgula = linha.indexOf(';') >= 0;
+        String[] colunas = linha.split(separadorPontoEVirgula ? ";" : ",", -1);
+
+        if (colunas.length != QUANTIDADE_COLUNAS) {
+            throw new AtributoInvalidoException("Linha " + numeroLinha + " do CSV deve conter " + QUANTIDADE_COLUNAS + " colunas.");
+        }
+
+        try {
+            String valorDiaria = colunas[6].strip();
+            if (separadorPontoEVirgula) {
+                valorDiaria = valorDiaria.replace(',', '.');
+            }
+
+            return new Carro(colunas[0].strip(), colunas[1].strip(), colunas[2].strip(),
+                    Integer.parseInt(colunas[3].strip()), colunas[4].strip(), colunas[5].strip(),
+                    Double.parseDouble(valorDiaria));
+        } catch (NumberFormatException ex) {
+            throw new AtributoInvalidoException("Linha " + numeroLinha + " do CSV possui ano ou valor da diária inválido.");
+        }
+    }
+
+}
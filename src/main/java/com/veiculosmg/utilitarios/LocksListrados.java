@@ -0,0 +1,33 @@
+package com.veiculosmg.utilitarios;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Quantidade fixa de locks repartida pelo hash da chave: chaves diferentes raramente disputam o mesmo lock
+// e a memória não cresce com o número de chaves.
+public class LocksListrados {
+
+    private final Lock[] locks;
+
+    private final int mascara;
+
+    public LocksListrados(int quantidadeMinima) {
+        int quantidade = Integer.highestOneBit(Math.max(1, quantidadeMinima - 1)) << 1;
+        this.locks = new Lock[quantidade];
+        this.mascara = quantidade - 1;
+
+        for (int i = 0; i < quantidade; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lockDa(long chave) {
+        int hash = Long.hashCode(chave);
+        return locks[(hash ^ (hash >>> 16)) & mascara];
+    }
+
+    public int quantidade() {
+        return locks.length;
+    }
+
+}
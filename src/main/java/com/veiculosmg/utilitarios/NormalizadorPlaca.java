@@ -0,0 +1,148 @@
+package com.veiculosmg.utilitarios;
+
+import com.veiculosmg.exception.AtributoInvalidoException;
+
+// Reconhece placas no modelo antigo (ABC1234, formatada ABC-1234) e Mercosul (ABC1D23) com uma varredura
+// dos caracteres, sem regex e sem strings intermediárias. Aceita o mesmo que a regra anterior:
+// hífens em qualquer posição são ignorados, espaços nas pontas são removidos e letras minúsculas são aceitas.
+public final class NormalizadorPlaca {
+
+    public static final long INVALIDA = -1L;
+
+    public static final String MENSAGEM_FORMATO_INVALIDO = "Formatos Válidos: ABC1234 ou ABC1D23";
+
+    private static final int TAMANHO = 7;
+
+    private static final int BITS_POR_CARACTERE = 6;
+
+    private static final int MASCARA_CARACTERE = (1 << BITS_POR_CARACTERE) - 1;
+
+    private NormalizadorPlaca() {
+    }
+
+    // Chave compacta da placa: 7 caracteres de 6 bits (0-9 para dígitos, 10-35 para letras) em 42 bits.
+    // Placas equivalentes ("abc-1234", "ABC1234") têm a mesma chave. Retorna INVALIDA se não for uma placa.
+    public static long chave(CharSequence placa) {
+        if (placa == null) {
+            return INVALIDA;
+        }
+
+        long chave = 0;
+        int caracteresLidos = 0;
+        boolean espacoAposConteudo = false;
+
+        for (int i = 0; i < placa.length(); i++) {
+            char caractere = placa.charAt(i);
+            if (caractere == '-') {
+                continue;
+            }
+            if (caractere > 127) {
+                return chaveDeTextoNaoAscii(placa);
+            }
+            if (caractere <= ' ') {
+                espacoAposConteudo = caracteresLidos > 0;
+                continue;
+            }
+            if (espacoAposConteudo || caracteresLidos == TAMANHO) {
+                return INVALIDA;
+            }
+
+            int valor = valorDoCaractere(caractere, caracteresLidos);
+            if (valor < 0) {
+                return INVALIDA;
+            }
+            chave = (chave << BITS_POR_CARACTERE) | valor;
+            caracteresLidos++;
+        }
+
+        return caracteresLidos == TAMANHO ? chave : INVALIDA;
+    }
+
+    public static boolean isMercosul(long chave) {
+        return caractereDaChave(chave, 4) >= 10;
+    }
+
+    // Forma canônica: ABC-1234 para o modelo antigo e ABC1D23 para o Mercosul.
+    public static String formata(String placa) {
+        long chave = chave(placa);
+        if (chave == INVALIDA) {
+            throw new AtributoInvalidoException(MENSAGEM_FORMATO_INVALIDO);
+        }
+
+        return jaEstaFormatada(placa, chave) ? placa : formata(chave);
+    }
+
+    public static String formata(long chave) {
+        boolean mercosul = isMercosul(chave);
+        char[] placa = new char[mercosul ? TAMANHO : TAMANHO + 1];
+
+        int posicao = 0;
+        for (int i = 0; i < TAMANHO; i++) {
+            if (i == 3 && !mercosul) {
+                placa[posicao++] = '-';
+            }
+            placa[posicao++] = caractereDoValor(caractereDaChave(chave, i));
+        }
+        return new String(placa);
+    }
+
+    /* Privado */
+
+    // Posições 0-2 letras, 3 dígito, 4 letra (Mercosul) ou dígito (antigo), 5-6 dígitos.
+    private static int valorDoCaractere(char caractere, int posicao) {
+        boolean aceitaLetra = posicao < 3 || posicao == 4;
+        boolean aceitaDigito = posicao >= 3;
+
+        if (aceitaDigito && caractere >= '0' && caractere <= '9') {
+            return caractere - '0';
+        }
+        if (aceitaLetra && caractere >= 'A' && caractere <= 'Z') {
+            return caractere - 'A' + 10;
+        }
+        if (aceitaLetra && caractere >= 'a' && caractere <= 'z') {
+            return caractere - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static int caractereDaChave(long chave, int posicao) {
+        return (int) (chave >>> ((TAMANHO - 1 - posicao) * BITS_POR_CARACTERE)) & MASCARA_CARACTERE;
+    }
+
+    private static char caractereDoValor(int valor) {
+        return (char) (valor < 10 ? '0' + valor : 'A' + valor - 10);
+    }
+
+    private static boolean jaEstaFormatada(String placa, long chave) {
+        boolean mercosul = isMercosul(chave);
+        if (placa.length() != (mercosul ? TAMANHO : TAMANHO + 1)) {
+            return false;
+        }
+
+        for (int i = 0; i < placa.length(); i++) {
+            char esperado;
+            if (mercosul || i < 3) {
+                esperado = caractereDoValor(caractereDaChave(chave, i));
+            } else {
+                esperado = i == 3 ? '-' : caractereDoValor(caractereDaChave(chave, i - 1));
+            }
+            if (placa.charAt(i) != esperado) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Caracteres fora do ASCII são raros, mas toUpperCase pode transformá-los em letras válidas (ı -> I, ß -> SS).
+    // Nesses casos repete a normalização antiga e varre o resultado.
+    private static long chaveDeTextoNaoAscii(CharSequence placa) {
+        String normalizada = placa.toString().replace("-", "").trim().toUpperCase();
+        for (int i = 0; i < normalizada.length(); i++) {
+            if (normalizada.charAt(i) > 127) {
+                return INVALIDA;
+            }
+        }
+        return chave(normalizada);
+    }
+
+}
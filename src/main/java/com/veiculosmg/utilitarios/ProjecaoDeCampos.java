@@ -0,0 +1,153 @@
+package com.veiculosmg.utilitarios;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.veiculosmg.exception.AtributoInvalidoException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Listagem com só os campos pedidos em ?fields=: uma consulta de tuplas (Criteria) seleciona apenas essas colunas
+// e cada linha vira um mapa campo -> valor, sem instanciar nem gerenciar entidades. O id sempre vem junto (cursor).
+// Campos de uma associação ("endereco.cep") fazem left join nela; sem eles a associação fica fora da consulta.
+public class ProjecaoDeCampos {
+
+    public static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    private final Class<?> entidade;
+
+    // Lido do metamodelo na primeira busca: o EntityManagerFactory ainda pode não estar pronto no construtor do serviço.
+    private volatile Set<String> camposPermitidos;
+
+    private ProjecaoDeCampos(EntityManager entityManager, Class<?> entidade) {
+        this.entityManager = entityManager;
+        this.entidade = entidade;
+    }
+
+    public static ProjecaoDeCampos de(EntityManager entityManager, Class<?> entidade) {
+        return new ProjecaoDeCampos(entityManager, entidade);
+    }
+
+    public static Long id(Map<String, Object> registro) {
+        return (Long) registro.get(ID);
+    }
+
+    // Registros com id maior que aposId, em ordem de id. limite nulo traz todos.
+    public List<Map<String, Object>> busca(Collection<String> campos, Long aposId, Integer limite) {
+        List<String> selecionados = validaCampos(campos);
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = criteriaBuilder.createTupleQuery();
+        Root<?> raiz = consulta.from(entidade);
+
+        Map<String, Join<?, ?>> juncoes = new LinkedHashMap<>();
+        List<Selection<?>> selecoes = new ArrayList<>(selecionados.size());
+        for (String campo : selecionados) {
+            int ponto = campo.indexOf('.');
+            From<?, ?> origem = ponto < 0 ? raiz
+                    : juncoes.computeIfAbsent(campo.substring(0, ponto), associacao -> raiz.join(associacao, JoinType.LEFT));
+            selecoes.add(origem.get(campo.substring(ponto + 1)));
+        }
+
+        consulta.multiselect(selecoes)
+                .where(criteriaBuilder.greaterThan(raiz.<Long>get(ID), aposId))
+                .orderBy(criteriaBuilder.asc(raiz.get(ID)));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(consulta);
+        if (limite != null) {
+            query.setMaxResults(limite);
+        }
+
+        return query.getResultList().stream().map(tupla -> paraMapa(tupla, selecionados)).toList();
+    }
+
+    /* Privado */
+
+    private List<String> validaCampos(Collection<String> campos) {
+        Set<String> permitidos = camposPermitidos();
+        Set<String> selecionados = new LinkedHashSet<>();
+        selecionados.add(ID);
+        selecionados.addAll(campos);
+
+        List<String> invalidos = selecionados.stream().filter(campo -> !permitidos.contains(campo)).toList();
+        if (!invalidos.isEmpty()) {
+            throw new AtributoInvalidoException("Campos inválidos em fields: " + invalidos + ". Campos permitidos: " + permitidos);
+        }
+        return List.copyOf(selecionados);
+    }
+
+    private Set<String> camposPermitidos() {
+        Set<String> permitidos = camposPermitidos;
+        if (permitidos == null) {
+            EntityType<?> tipo = entityManager.getMetamodel().entity(entidade);
+            permitidos = new TreeSet<>(camposBasicos(tipo, ""));
+            for (SingularAttribute<?, ?> atributo : tipo.getSingularAttributes()) {
+                if (atributo.isAssociation() && visivelNoJson(atributo)) {
+                    ManagedType<?> associado = entityManager.getMetamodel().managedType(atributo.getJavaType());
+                    permitidos.addAll(camposBasicos(associado, atributo.getName() + "."));
+                }
+            }
+            camposPermitidos = permitidos;
+        }
+        return permitidos;
+    }
+
+    // Os mesmos campos que a entidade expõe no JSON: colunas simples, sem a versão e sem os marcados com @JsonIgnore.
+    private static List<String> camposBasicos(ManagedType<?> tipo, String prefixo) {
+        return tipo.getSingularAttributes().stream()
+                .filter(atributo -> atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC)
+                .filter(atributo -> !atributo.isVersion() && visivelNoJson(atributo))
+                .map(atributo -> prefixo + atributo.getName())
+                .toList();
+    }
+
+    private static boolean visivelNoJson(Attribute<?, ?> atributo) {
+        Member membro = atributo.getJavaMember();
+        return !(membro instanceof AnnotatedElement elemento) || !elemento.isAnnotationPresent(JsonIgnore.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> paraMapa(Tuple tupla, List<String> campos) {
+        Map<String, Object> registro = new LinkedHashMap<>();
+        for (int i = 0; i < campos.size(); i++) {
+            String campo = campos.get(i);
+            int ponto = campo.indexOf('.');
+            if (ponto < 0) {
+                registro.put(campo, tupla.get(i));
+            } else {
+                Map<String, Object> associado = (Map<String, Object>) registro.computeIfAbsent(campo.substring(0, ponto), chave -> new LinkedHashMap<>());
+                associado.put(campo.substring(ponto + 1), tupla.get(i));
+            }
+        }
+
+        // Associação ausente (left join sem linha) sai como null, como na entidade completa.
+        registro.replaceAll((campo, valor) -> valor instanceof Map<?, ?> associado
+                && associado.values().stream().allMatch(Objects::isNull) ? null : valor);
+        return registro;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.veiculosmg.utilitarios;
+
+import com.veiculosmg.exception.VersaoDesatualizadaException;
+import com.veiculosmg.model.projecao.VersaoCliente;
+import com.veiculosmg.model.projecao.VersaoColecao;
+import com.veiculosmg.model.projecao.VersaoRegistro;
+
+import java.time.Instant;
+import java.util.StringJoiner;
+
+// ETags fortes derivados das colunas @Version, para responder 304/412 sem serializar o corpo.
+public final class VersaoHttp {
+
+    private VersaoHttp() {
+    }
+
+    // Uma versão por entidade que compõe a representação, ex.: cliente com endereço vira "3.1".
+    public static String etag(long... versoes) {
+        StringJoiner etag = new StringJoiner(".", "\"", "\"");
+        for (long versao : versoes) {
+            etag.add(Long.toString(versao));
+        }
+        return etag.toString();
+    }
+
+    public static String etag(VersaoColecao versaoColecao) {
+        return etag(versaoColecao.quantidade(), versaoColecao.maiorId(), versaoColecao.somaVersoes());
+    }
+
+    public static String etag(VersaoRegistro versaoRegistro) {
+        return etag(versaoRegistro.versao());
+    }
+
+    // O endereço faz parte da representação do cliente: mudar só o endereço também muda o ETag.
+    public static String etag(VersaoCliente versaoCliente) {
+        if (versaoCliente.enderecoId() == null) {
+            return etag(versaoCliente.versao());
+        }
+        return etag(versaoCliente.versao(), versaoCliente.versaoEndereco());
+    }
+
+    // Maior data de alteração em milissegundos, ou -1 (sem Last-Modified) se nenhuma for conhecida.
+    public static long ultimaModificacao(Instant... instantes) {
+        long ultima = -1;
+        for (Instant instante : instantes) {
+            if (instante != null) {
+                ultima = Math.max(ultima, instante.toEpochMilli());
+            }
+        }
+        return ultima;
+    }
+
+    // Sem If-Match ou com "*" a atualização não é condicionada. Caso contrário alguma das tags precisa ser
+    // igual ao ETag atual (comparação forte: tags fracas W/ nunca casam).
+    public static void verificaIfMatch(String ifMatch, String etagAtual) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return;
+        }
+
+        for (String tag : ifMatch.split(",")) {
+            if (tag.trim().equals(etagAtual)) {
+                return;
+            }
+        }
+        throw new VersaoDesatualizadaException("O recurso foi alterado desde a versão informada no If-Match. Versão atual: " + etagAtual);
+    }
+
+}
@@ -21,11 +21,11 @@ public @interface CEP {
 
     class CepValidator implements ConstraintValidator<CEP, String> {
 
-        private static final String PADRAO_CEP = "^[0-9]{8}$";
+        private static final int TAMANHO = 8;
 
         @Override
         public boolean isValid(String numeroCep, ConstraintValidatorContext context) {
-            return numeroCep != null && numeroCep.matches(PADRAO_CEP);
+            return Digitos.somenteDigitos(numeroCep, TAMANHO);
         }
     }
 
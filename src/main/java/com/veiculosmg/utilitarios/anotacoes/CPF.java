@@ -0,0 +1,99 @@
+package com.veiculosmg.utilitarios.anotacoes;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+// Substitui o @CPF do Hibernate Validator (11 @Pattern compostos + Mod11) por uma única varredura.
+// Aceita os mesmos formatos: 11 dígitos, ou 000.000.000-00 com os pontos opcionais. Nulo é válido.
+// Diferente do Hibernate, que recusa CPFs com um ponto só por desalinhar os dígitos verificadores.
+@Documented
+@Constraint(validatedBy = CPF.CpfValidator.class)
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CPF {
+
+    String message() default "CPF inválido";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class CpfValidator implements ConstraintValidator<CPF, String> {
+
+        @Override
+        public boolean isValid(String cpf, ConstraintValidatorContext context) {
+            return cpf == null || cpfValido(cpf);
+        }
+
+        public static boolean cpfValido(String cpf) {
+            int tamanho = cpf.length();
+            if (tamanho < 11 || tamanho > 14) {
+                return false;
+            }
+
+            boolean comSeparadores = tamanho != 11;
+            boolean tracoLido = false;
+            int digitosLidos = 0;
+            int soma1 = 0;
+            int soma2 = 0;
+            int primeiroDigito = -1;
+            boolean todosIguais = true;
+
+            for (int i = 0; i < tamanho; i++) {
+                char caractere = cpf.charAt(i);
+
+                if (comSeparadores && separadorPermitido(cpf, i, digitosLidos)) {
+                    tracoLido |= caractere == '-';
+                    continue;
+                }
+                if (caractere < '0' || caractere > '9') {
+                    return false;
+                }
+
+                int digito = caractere - '0';
+                if (primeiroDigito < 0) {
+                    primeiroDigito = digito;
+                } else if (digito != primeiroDigito) {
+                    todosIguais = false;
+                }
+
+                if (digitosLidos < 9) {
+                    soma1 += digito * (10 - digitosLidos);
+                    soma2 += digito * (11 - digitosLidos);
+                } else if (digitosLidos == 9) {
+                    if (digito != digitoVerificador(soma1)) {
+                        return false;
+                    }
+                    soma2 += digito * 2;
+                } else if (digito != digitoVerificador(soma2)) {
+                    return false;
+                }
+                digitosLidos++;
+            }
+
+            return digitosLidos == 11 && tracoLido == comSeparadores && !todosIguais;
+        }
+
+        // Pontos opcionais após o 3º e o 6º dígito; traço obrigatório após o 9º. Nunca dois seguidos.
+        private static boolean separadorPermitido(String cpf, int posicao, int digitosLidos) {
+            char caractere = cpf.charAt(posicao);
+            boolean naPosicao = caractere == '-' ? digitosLidos == 9
+                    : caractere == '.' && (digitosLidos == 3 || digitosLidos == 6);
+            if (!naPosicao) {
+                return false;
+            }
+            char anterior = cpf.charAt(posicao - 1);
+            return anterior >= '0' && anterior <= '9';
+        }
+
+        private static int digitoVerificador(int soma) {
+            int resto = soma * 10 % 11;
+            return resto == 10 ? 0 : resto;
+        }
+    }
+
+}
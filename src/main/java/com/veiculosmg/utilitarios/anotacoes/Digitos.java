@@ -0,0 +1,23 @@
+package com.veiculosmg.utilitarios.anotacoes;
+
+final class Digitos {
+
+    private Digitos() {
+    }
+
+    // Equivale a valor.matches("^[0-9]{tamanho}$"), sem compilar regex nem alocar.
+    static boolean somenteDigitos(String valor, int tamanho) {
+        if (valor == null || valor.length() != tamanho) {
+            return false;
+        }
+
+        for (int i = 0; i < tamanho; i++) {
+            char caractere = valor.charAt(i);
+            if (caractere < '0' || caractere > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -21,11 +21,11 @@ public @interface ValidacaoNumeroTelefone {
 
     class NumeroTelefoneValidator implements ConstraintValidator<ValidacaoNumeroTelefone, String> {
 
-        private static final String PADRAO_NUMERO_TELEFONE = "^[0-9]{11}$";
+        private static final int TAMANHO = 11;
 
         @Override
         public boolean isValid(String numeroTelefone, ConstraintValidatorContext context) {
-            return numeroTelefone != null && numeroTelefone.matches(PADRAO_NUMERO_TELEFONE);
+            return Digitos.somenteDigitos(numeroTelefone, TAMANHO);
         }
     }
 
@@ -0,0 +1,36 @@
+package com.veiculosmg.utilitarios.paginacao;
+
+import com.veiculosmg.exception.AtributoInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class Cursor {
+
+    private static final String PREFIXO = "id:";
+
+    private Cursor() {
+    }
+
+    public static String codifica(Long ultimoId) {
+        byte[] valor = (PREFIXO + ultimoId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor);
+    }
+
+    public static Long decodifica(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new IllegalArgumentException(valor);
+            }
+            return Long.parseLong(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new AtributoInvalidoException("Cursor de paginação inválido.");
+        }
+    }
+
+}
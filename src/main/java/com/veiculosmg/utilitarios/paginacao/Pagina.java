@@ -0,0 +1,19 @@
+package com.veiculosmg.utilitarios.paginacao;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record Pagina<T>(List<T> conteudo, String proximoCursor) {
+
+    // Espera receber até tamanho + 1 registros ordenados pelo id: o registro excedente indica que existe próxima página.
+    public static <T> Pagina<T> de(List<T> registros, int tamanho, Function<T, Long> id) {
+        if (registros.size() <= tamanho) {
+            return new Pagina<>(registros, null);
+        }
+
+        List<T> conteudo = registros.subList(0, tamanho);
+        Long ultimoId = id.apply(conteudo.get(tamanho - 1));
+        return new Pagina<>(conteudo, Cursor.codifica(ultimoId));
+    }
+
+}
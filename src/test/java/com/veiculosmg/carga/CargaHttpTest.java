@@ -0,0 +1,319 @@
+package com.veiculosmg.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.veiculosmg.gerador.GeradorDeDados;
+import com.veiculosmg.utilitarios.NormalizadorPlaca;
+import com.veiculosmg.utilitarios.paginacao.Cursor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Carga mista (80% leitura, 20% escrita) em /api/carros, /api/clientes e /api/enderecos com a aplicação no perfil perf
+// (H2 embutido + massa do GeradorDeDados). Usuários virtuais em modelo fechado, sem pausa entre requisições; cada
+// usuário só altera os registros da sua partição de ids, então um 412 aqui é erro de verdade.
+// Fora do build padrão: mvn test -Pcarga [-Dcarga.usuarios=128 -Dcarga.duracao=2m -Dcarga.slo.p99=300ms]
+@Slf4j
+@Tag("carga")
+@ActiveProfiles("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties =
+        "spring.datasource.url=jdbc:h2:mem:carga;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+public class CargaHttpTest {
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${carga.usuarios}")
+    private int usuarios;
+
+    @Value("${carga.aquecimento}")
+    private Duration aquecimento;
+
+    @Value("${carga.duracao}")
+    private Duration duracao;
+
+    @Value("${carga.slo.p95}")
+    private Duration limiteP95;
+
+    @Value("${carga.slo.p99}")
+    private Duration limiteP99;
+
+    @Value("${carga.slo.vazao-minima}")
+    private double vazaoMinima;
+
+    @Value("${carga.slo.taxa-de-erros}")
+    private double taxaDeErrosMaxima;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final AtomicLong novosRegistros = new AtomicLong();
+
+    private List<Operacao> operacoes;
+
+    private long[] idsCarro;
+
+    private long[] idsCliente;
+
+    private long[] idsEndereco;
+
+    private Set<Long> placasExistentes;
+
+    @BeforeEach
+    public void setUp() {
+        idsCarro = ids("carro");
+        idsCliente = ids("cliente");
+        idsEndereco = ids("endereco");
+        placasExistentes = new HashSet<>();
+        jdbcTemplate.query("select placa from carro", linha -> {
+            placasExistentes.add(NormalizadorPlaca.chave(linha.getString(1)));
+        });
+
+        operacoes = List.of(
+                new Operacao("GET /api/carros/{id}", 25, usuario -> get("/api/carros/" + aleatorio(idsCarro)).statusCode()),
+                new Operacao("GET /api/carros", 10, usuario -> get("/api/carros?tamanho=20&cursor=" + Cursor.codifica(aleatorio(idsCarro))).statusCode()),
+                new Operacao("GET /api/clientes/{id}", 20, usuario -> get("/api/clientes/" + aleatorio(idsCliente)).statusCode()),
+                new Operacao("GET /api/clientes", 5, usuario -> get("/api/clientes?tamanho=20&cursor=" + Cursor.codifica(aleatorio(idsCliente))).statusCode()),
+                new Operacao("GET /api/enderecos/{id}", 15, usuario -> get("/api/enderecos/" + aleatorio(idsEndereco)).statusCode()),
+                new Operacao("GET /api/enderecos", 5, usuario -> get("/api/enderecos?tamanho=20&cursor=" + Cursor.codifica(aleatorio(idsEndereco))).statusCode()),
+                new Operacao("POST /api/carros", 5, usuario -> post("/api/carros", novoCarro())),
+                new Operacao("GET+PUT /api/carros/{id}", 5, usuario -> alteraCampo("/api/carros/" + daParticao(idsCarro, usuario),
+                        "valorDiaria", 100 + ThreadLocalRandom.current().nextInt(400))),
+                new Operacao("POST /api/clientes", 5, usuario -> post("/api/clientes", novoCliente())),
+                new Operacao("GET+PUT /api/enderecos/{id}", 5, usuario -> alteraCampo("/api/enderecos/" + daParticao(idsEndereco, usuario),
+                        "complemento", "Sala " + ThreadLocalRandom.current().nextInt(1000))));
+    }
+
+    @Test
+    void testCargaMistaDentroDosLimitesDeLatenciaEVazao() throws Exception {
+        ResultadoDeCarga resultado = executa();
+
+        long requisicoes = resultado.requisicoes();
+        Duration p95 = resultado.percentil(0.95);
+        Duration p99 = resultado.percentil(0.99);
+        double vazao = requisicoes / (duracao.toMillis() / 1000.0);
+        double taxaDeErros = requisicoes == 0 ? 1.0 : (double) resultado.erros() / requisicoes;
+        log.info("Carga HTTP com {} usuários ({}): {}", usuarios, threadsDosUsuarios(), resultado.relatorio(duracao));
+
+        assertAll(
+                () -> assertTrue(p95.compareTo(limiteP95) <= 0, "p95 de " + p95.toMillis() + "ms acima do limite de " + limiteP95.toMillis() + "ms"),
+                () -> assertTrue(p99.compareTo(limiteP99) <= 0, "p99 de " + p99.toMillis() + "ms acima do limite de " + limiteP99.toMillis() + "ms"),
+                () -> assertTrue(vazao >= vazaoMinima, String.format("Vazão de %.1f req/s abaixo do mínimo de %.1f req/s", vazao, vazaoMinima)),
+                () -> assertTrue(taxaDeErros <= taxaDeErrosMaxima, String.format("Taxa de erros de %.4f acima do limite de %.4f",
+                        taxaDeErros, taxaDeErrosMaxima)));
+    }
+
+    /* Privado */
+
+    // Aquecimento e medição numa execução só: os usuários não param entre as fases, só deixam de descartar as amostras.
+    private ResultadoDeCarga executa() throws Exception {
+        long inicioMedicao = System.nanoTime() + aquecimento.toNanos();
+        long fim = inicioMedicao + duracao.toNanos();
+        int pesoTotal = operacoes.stream().mapToInt(Operacao::peso).sum();
+
+        List<Future<ResultadoDeCarga>> porUsuario = new ArrayList<>();
+        ExecutorService executor = executorDosUsuarios();
+        try {
+            for (int usuario = 0; usuario < usuarios; usuario++) {
+                int id = usuario;
+                porUsuario.add(executor.submit(() -> usuario(id, pesoTotal, inicioMedicao, fim)));
+            }
+            ResultadoDeCarga resultado = new ResultadoDeCarga();
+            for (Future<ResultadoDeCarga> parcial : porUsuario) {
+                resultado.junta(parcial.get());
+            }
+            return resultado;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResultadoDeCarga usuario(int usuario, int pesoTotal, long inicioMedicao, long fim) {
+        ResultadoDeCarga resultado = new ResultadoDeCarga();
+        long inicio;
+        while ((inicio = System.nanoTime()) < fim) {
+            Operacao operacao = sorteia(pesoTotal);
+            int status;
+            try {
+                status = operacao.acao().executa(usuario);
+            } catch (Exception ex) {
+                status = -1;
+            }
+            if (inicio >= inicioMedicao) {
+                resultado.registra(operacao.nome(), status, System.nanoTime() - inicio);
+            }
+        }
+        return resultado;
+    }
+
+    private Operacao sorteia(int pesoTotal) {
+        int sorteado = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            sorteado -= operacao.peso();
+            if (sorteado < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private HttpResponse<String> get(String caminho) throws Exception {
+        return client.send(requisicao(caminho).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private int post(String caminho, Map<String, ?> corpo) throws Exception {
+        HttpRequest requisicao = requisicao(caminho)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(corpo)))
+                .build();
+        return client.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    // Lê o registro, altera um campo e grava com o ETag lido no If-Match, como faria um cliente da API.
+    private int alteraCampo(String caminho, String campo, Object valor) throws Exception {
+        HttpResponse<String> atual = get(caminho);
+        if (atual.statusCode() != 200) {
+            return atual.statusCode();
+        }
+        ObjectNode corpo = (ObjectNode) objectMapper.readTree(atual.body());
+        corpo.set(campo, objectMapper.valueToTree(valor));
+
+        HttpRequest requisicao = requisicao(caminho)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.IF_MATCH, atual.headers().firstValue(HttpHeaders.ETAG).orElse("*"))
+                .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(corpo)))
+                .build();
+        return client.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(10))
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private Map<String, ?> novoCarro() {
+        return Map.of("marca", "FIAT", "modelo", "ARGO", "placa", novaPlaca(), "ano", 2022, "categoria", "HATCH",
+                "tipoCombustivel", "FLEX", "valorDiaria", 150.0);
+    }
+
+    // DDD 99, CPFs a partir de 200.000.000 e e-mails em @veiculosmg.com: faixas que o GeradorDeDados não usa.
+    private Map<String, ?> novoCliente() {
+        long numero = novosRegistros.incrementAndGet();
+        Map<String, ?> endereco = Map.of("cep", "30130000", "logradouro", "Avenida Afonso Pena", "bairro", "Centro",
+                "localidade", "Belo Horizonte", "uf", "MG");
+        return Map.of("nome", "Cliente Carga " + numero, "cpf", GeradorDeDados.cpfDaBase(200_000_000L + numero),
+                "numeroTelefone", "999" + String.format("%08d", numero), "email", "carga" + numero + "@veiculosmg.com",
+                "dataNascimento", "1990-01-01", "endereco", endereco);
+    }
+
+    // Mercosul sequencial, pulando as placas que a massa gerada já tem.
+    private String novaPlaca() {
+        while (true) {
+            long numero = novosRegistros.incrementAndGet();
+            String placa = letras(numero / 26_000) + (numero / 2_600 % 10) + (char) ('A' + numero / 100 % 26)
+                    + String.format("%02d", numero % 100);
+            if (!placasExistentes.contains(NormalizadorPlaca.chave(placa))) {
+                return placa;
+            }
+        }
+    }
+
+    private static String letras(long valor) {
+        char[] letras = new char[3];
+        for (int i = 2; i >= 0; i--) {
+            letras[i] = (char) ('A' + valor % 26);
+            valor /= 26;
+        }
+        return new String(letras);
+    }
+
+    private long[] ids(String tabela) {
+        long[] ids = jdbcTemplate.queryForList("select id from " + tabela + " order by id", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+        if (ids.length < usuarios) {
+            throw new IllegalStateException("Massa insuficiente em " + tabela + ": " + ids.length + " linhas para " + usuarios + " usuários.");
+        }
+        return ids;
+    }
+
+    private static long aleatorio(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    // Ids de índice congruente ao usuário: dois usuários nunca disputam a mesma versão.
+    private long daParticao(long[] ids, int usuario) {
+        int quantidade = (ids.length - usuario + usuarios - 1) / usuarios;
+        return ids[usuario + usuarios * ThreadLocalRandom.current().nextInt(quantidade)];
+    }
+
+    // Threads virtuais quando o teste roda em Java 21 (-Pcarga,java21); em Java 17, uma thread por usuário.
+    private ExecutorService executorDosUsuarios() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException ex) {
+            return Executors.newFixedThreadPool(usuarios);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais.", ex);
+        }
+    }
+
+    private static String threadsDosUsuarios() {
+        return Runtime.version().feature() >= 21 ? "threads virtuais" : "threads de plataforma";
+    }
+
+    private record Operacao(String nome, int peso, Acao acao) {
+    }
+
+    @FunctionalInterface
+    private interface Acao {
+
+        int executa(int usuario) throws Exception;
+
+    }
+
+    // Os limites ficam em carga.properties; um -D na linha de comando tem precedência sobre o arquivo.
+    @TestConfiguration
+    @PropertySource("classpath:carga.properties")
+    static class Limites {
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.veiculosmg.carga;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Latências e status por operação. Cada usuário virtual tem o seu (sem disputa entre threads); o motor junta
+// todos no fim. Os percentis vêm das amostras ordenadas, sem histograma: alguns milhões de longs cabem na memória.
+class ResultadoDeCarga {
+
+    private final Map<String, Amostras> porOperacao = new LinkedHashMap<>();
+
+    void registra(String operacao, int status, long duracaoNanos) {
+        porOperacao.computeIfAbsent(operacao, nome -> new Amostras()).registra(status, duracaoNanos);
+    }
+
+    void junta(ResultadoDeCarga outro) {
+        outro.porOperacao.forEach((operacao, amostras) -> porOperacao.computeIfAbsent(operacao, nome -> new Amostras()).junta(amostras));
+    }
+
+    long requisicoes() {
+        return porOperacao.values().stream().mapToLong(amostras -> amostras.quantidade).sum();
+    }
+
+    long erros() {
+        return porOperacao.values().stream().mapToLong(amostras -> amostras.erros).sum();
+    }
+
+    // Percentil de todas as operações juntas.
+    Duration percentil(double percentil) {
+        Amostras todas = new Amostras();
+        porOperacao.values().forEach(todas::junta);
+        return todas.percentil(percentil);
+    }
+
+    String relatorio(Duration duracao) {
+        StringBuilder relatorio = new StringBuilder(String.format("%n%-28s %9s %8s %8s %8s %8s %7s  %s%n",
+                "operacao", "req", "p50", "p95", "p99", "max", "erros", "status"));
+        porOperacao.forEach((operacao, amostras) -> relatorio.append(linha(operacao, amostras)));
+
+        Amostras todas = new Amostras();
+        porOperacao.values().forEach(todas::junta);
+        relatorio.append(linha("total", todas));
+        relatorio.append(String.format("vazao: %.1f req/s em %ds", requisicoes() / (duracao.toMillis() / 1000.0), duracao.toSeconds()));
+        return relatorio.toString();
+    }
+
+    /* Privado */
+
+    private static String linha(String operacao, Amostras amostras) {
+        return String.format("%-28s %9d %6dms %6dms %6dms %6dms %7d  %s%n", operacao, amostras.quantidade,
+                amostras.percentil(0.50).toMillis(), amostras.percentil(0.95).toMillis(), amostras.percentil(0.99).toMillis(),
+                amostras.percentil(1.0).toMillis(), amostras.erros, amostras.status);
+    }
+
+    private static class Amostras {
+
+        private long[] duracoes = new long[1024];
+
+        private int quantidade;
+
+        private long erros;
+
+        private final Map<Integer, Long> status = new TreeMap<>();
+
+        private boolean ordenadas;
+
+        void registra(int codigo, long duracaoNanos) {
+            if (quantidade == duracoes.length) {
+                duracoes = Arrays.copyOf(duracoes, quantidade * 2);
+            }
+            duracoes[quantidade++] = duracaoNanos;
+            status.merge(codigo, 1L, Long::sum);
+            // -1: a requisição nem chegou a ter resposta (timeout, conexão recusada).
+            if (codigo < 200 || codigo >= 400) {
+                erros++;
+            }
+            ordenadas = false;
+        }
+
+        void junta(Amostras outras) {
+            for (int i = 0; i < outras.quantidade; i++) {
+                if (quantidade == duracoes.length) {
+                    duracoes = Arrays.copyOf(duracoes, Math.max(quantidade * 2, quantidade + outras.quantidade));
+                }
+                duracoes[quantidade++] = outras.duracoes[i];
+            }
+            erros += outras.erros;
+            outras.status.forEach((codigo, total) -> status.merge(codigo, total, Long::sum));
+            ordenadas = false;
+        }
+
+        Duration percentil(double percentil) {
+            if (quantidade == 0) {
+                return Duration.ZERO;
+            }
+            if (!ordenadas) {
+                Arrays.sort(duracoes, 0, quantidade);
+                ordenadas = true;
+            }
+            int indice = (int) Math.ceil(percentil * quantidade) - 1;
+            return Duration.ofNanos(duracoes[Math.max(0, Math.min(indice, quantidade - 1))]);
+        }
+
+    }
+
+}
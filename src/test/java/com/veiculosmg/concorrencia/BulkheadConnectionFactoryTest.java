@@ -0,0 +1,59 @@
+package com.veiculosmg.concorrencia;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BulkheadConnectionFactoryTest {
+
+    private ConnectionFactory pool;
+
+    private BulkheadDataSource bulkhead;
+
+    private BulkheadConnectionFactory connectionFactory;
+
+    @BeforeEach
+    public void setUp() {
+        pool = mock(ConnectionFactory.class);
+        doAnswer(invocation -> {
+            Connection connection = mock(Connection.class);
+            doReturn(Mono.empty()).when(connection).close();
+            return Mono.just(connection);
+        }).when(pool).create();
+
+        bulkhead = new BulkheadDataSource(mock(DataSource.class), 1, Duration.ofMillis(20));
+        connectionFactory = new BulkheadConnectionFactory(pool, bulkhead);
+    }
+
+    @Test
+    void testConexaoR2dbcGastaPermissaoDoBulkheadAteOClose() {
+        Connection connection = Mono.from(connectionFactory.create()).block();
+        assertEquals(0, bulkhead.permissoesDisponiveis());
+
+        // Com a permissão em uso pelo catálogo, o JDBC espera e desiste.
+        assertThrows(SQLTransientConnectionException.class, () -> bulkhead.getConnection());
+
+        Mono.from(connection.close()).block();
+        Mono.from(connection.close()).block();
+        assertEquals(1, bulkhead.permissoesDisponiveis());
+    }
+
+    @Test
+    void testDevolvePermissaoQuandoOPoolR2dbcFalha() {
+        doReturn(Mono.error(new DataAccessResourceFailureException("banco fora"))).when(pool).create();
+
+        assertThrows(DataAccessResourceFailureException.class, () -> Mono.from(connectionFactory.create()).block());
+        assertEquals(1, bulkhead.permissoesDisponiveis());
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.veiculosmg.concorrencia;
+
+import com.veiculosmg.configuration.ConcorrenciaConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BulkheadDataSourceTest {
+
+    private DataSource pool;
+
+    private BulkheadDataSource bulkhead;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        bulkhead = new BulkheadDataSource(pool, 2, Duration.ofMillis(20));
+    }
+
+    @Test
+    void testRejeitaQuandoTodasAsConexoesEstaoEmprestadas() throws SQLException {
+        Connection primeira = bulkhead.getConnection();
+        bulkhead.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> bulkhead.getConnection());
+        verify(pool, times(2)).getConnection();
+
+        primeira.close();
+        assertNotNull(bulkhead.getConnection());
+    }
+
+    @Test
+    void testCloseRepetidoDevolveUmaPermissaoSo() throws SQLException {
+        Connection connection = bulkhead.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertEquals(2, bulkhead.permissoesDisponiveis());
+    }
+
+    @Test
+    void testDevolvePermissaoQuandoOPoolFalha() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("banco fora"));
+
+        assertThrows(SQLException.class, () -> bulkhead.getConnection());
+        assertEquals(2, bulkhead.permissoesDisponiveis());
+    }
+
+    @Test
+    void testPermissoesPadraoVemDoTamanhoConfiguradoDoPool() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ConcorrenciaConfig> concorrenciaConfig = (ObjectProvider<ConcorrenciaConfig>) mock(ObjectProvider.class);
+        when(concorrenciaConfig.getObject()).thenReturn(new ConcorrenciaConfig());
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.datasource.hikari.maximum-pool-size", "20");
+
+        // Antes de o pool iniciar, o HikariDataSource ainda responde -1 para o maximumPoolSize.
+        Object bean = new BulkheadDataSourcePostProcessor(concorrenciaConfig, environment)
+                .postProcessAfterInitialization(new HikariDataSource(), "dataSource");
+
+        assertEquals(20, ((BulkheadDataSource) bean).permissoesDisponiveis());
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.veiculosmg.concorrencia;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.repository.CarroRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 2000 clientes simultâneos contra a aplicação em porta aleatória, com latência de banco simulada
+// (cada comando SQL espera LATENCIA_BANCO, como um MySQL lento). 90% das requisições são buscas por id
+// (servidas pelo cache), 10% são listagens paginadas (vão ao banco). As subclasses trocam só o modelo de threads.
+@Slf4j
+@Tag("benchmark")
+@Import(CargaConcorrenteBenchmark.LatenciaDeBanco.class)
+abstract class CargaConcorrenteBenchmark {
+
+    private static final int CLIENTES = 2000;
+
+    private static final int REQUISICOES = 40_000;
+
+    private static final int CARROS = 200;
+
+    private static final Duration LATENCIA_BANCO = Duration.ofMillis(15);
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    private final List<Carro> carros = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < CARROS; i++) {
+            carros.add(carroRepository.save(new Carro("FIAT", "Uno", String.format("CRG%04d", i), 2015, "Hatch", "Flex", 100.0)));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        carroRepository.deleteAll(carros);
+    }
+
+    @Test
+    void testCargaCom2000ClientesSimultaneos() throws Exception {
+        ExecutorService executor = executorDosClientes();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        try {
+            // Aquece a JVM e o cache por id.
+            dispara(client, 5_000, new ConcurrentHashMap<>(), new long[5_000], new boolean[5_000], new AtomicInteger());
+
+            ConcurrentHashMap<Integer, AtomicInteger> status = new ConcurrentHashMap<>();
+            long[] latencias = new long[REQUISICOES];
+            boolean[] noBanco = new boolean[REQUISICOES];
+            AtomicInteger picoEmVoo = new AtomicInteger();
+            long inicio = System.nanoTime();
+            dispara(client, REQUISICOES, status, latencias, noBanco, picoEmVoo);
+            long duracao = System.nanoTime() - inicio;
+
+            // Concorrência de fato: o pico de requisições sem resposta e a média pela lei de Little
+            // (soma das latências / duração). Abaixo de CLIENTES, o gargalo é o cliente, não o servidor.
+            log.info("{}: {} requisições, {} clientes ({}), concorrência pico={} média={}, {} req/s, status={}; "
+                            + "todas {}; por id (cache) {}; listagem (banco) {}",
+                    getClass().getSimpleName(), REQUISICOES, CLIENTES, threadsDosClientes(), picoEmVoo.get(),
+                    Math.round(LongStream.of(latencias).sum() / (double) duracao), Math.round(REQUISICOES / (duracao / 1e9)),
+                    status, percentis(latencias, noBanco, null), percentis(latencias, noBanco, false),
+                    percentis(latencias, noBanco, true));
+
+            int respondidas = status.getOrDefault(200, new AtomicInteger()).get() + status.getOrDefault(503, new AtomicInteger()).get();
+            assertEquals(REQUISICOES, respondidas, "Só 200 ou 503 (bulkhead) são esperados: " + status);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /* Privado */
+
+    private void dispara(HttpClient client, int requisicoes, ConcurrentHashMap<Integer, AtomicInteger> status,
+                         long[] latencias, boolean[] noBanco, AtomicInteger picoEmVoo) throws InterruptedException {
+        Semaphore emVoo = new Semaphore(CLIENTES);
+        AtomicInteger semResposta = new AtomicInteger();
+        List<CompletableFuture<?>> respostas = new ArrayList<>(requisicoes);
+
+        for (int i = 0; i < requisicoes; i++) {
+            emVoo.acquire();
+            int indice = i;
+            noBanco[i] = ThreadLocalRandom.current().nextInt(10) == 0;
+            picoEmVoo.accumulateAndGet(semResposta.incrementAndGet(), Math::max);
+            long enviada = System.nanoTime();
+            respostas.add(client.sendAsync(requisicao(noBanco[i]), HttpResponse.BodyHandlers.discarding())
+                    .handle((resposta, erro) -> {
+                        latencias[indice] = System.nanoTime() - enviada;
+                        semResposta.decrementAndGet();
+                        int codigo = erro == null ? resposta.statusCode() : -1;
+                        status.computeIfAbsent(codigo, c -> new AtomicInteger()).incrementAndGet();
+                        emVoo.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(respostas.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private HttpRequest requisicao(boolean noBanco) {
+        String caminho = noBanco
+                ? "/api/carros?tamanho=20"
+                : "/api/carros/" + carros.get(ThreadLocalRandom.current().nextInt(carros.size())).getId();
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofMinutes(2))
+                .GET()
+                .build();
+    }
+
+    // O executor do HttpClient trata as respostas: com 32 threads fixas, as 2000 requisições em voo ficavam
+    // na fila dele. Threads virtuais em Java 21 (-Pbenchmark,java21); em Java 17, uma thread por cliente.
+    private static ExecutorService executorDosClientes() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException ex) {
+            return Executors.newFixedThreadPool(CLIENTES);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais.", ex);
+        }
+    }
+
+    private static String threadsDosClientes() {
+        return Runtime.version().feature() >= 21 ? "threads virtuais" : "threads de plataforma";
+    }
+
+    private static String percentis(long[] latencias, boolean[] noBanco, Boolean filtro) {
+        long[] selecionadas = new long[latencias.length];
+        int quantidade = 0;
+        for (int i = 0; i < latencias.length; i++) {
+            if (filtro == null || noBanco[i] == filtro) {
+                selecionadas[quantidade++] = latencias[i];
+            }
+        }
+        Arrays.sort(selecionadas, 0, quantidade);
+        return String.format("p50=%dms p99=%dms max=%dms",
+                TimeUnit.NANOSECONDS.toMillis(selecionadas[quantidade / 2]),
+                TimeUnit.NANOSECONDS.toMillis(selecionadas[(int) (quantidade * 0.99)]),
+                TimeUnit.NANOSECONDS.toMillis(selecionadas[quantidade - 1]));
+    }
+
+    @TestConfiguration
+    static class LatenciaDeBanco {
+
+        // Antes do BulkheadDataSourcePostProcessor: a latência acontece com a permissão do bulkhead em uso.
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        static BeanPostProcessor dataSourceComLatencia() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                return comLatencia(obtainTargetDataSource().getConnection());
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection comLatencia(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object resultado = invoca(connection, method, args);
+                        if (resultado instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                            return comLatencia(statement);
+                        }
+                        return resultado;
+                    });
+        }
+
+        private static PreparedStatement comLatencia(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            Thread.sleep(LATENCIA_BANCO.toMillis());
+                        }
+                        return invoca(statement, method, args);
+                    });
+        }
+
+        private static Object invoca(Object alvo, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(alvo, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.veiculosmg.concorrencia;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Fora do build padrão. Rodar com: mvn test -Pbenchmark -Dtest='Carga*'
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "veiculosmg.concorrencia.threads-virtuais=false")
+public class CargaThreadsPlataformaBenchmarkTest extends CargaConcorrenteBenchmark {
+}
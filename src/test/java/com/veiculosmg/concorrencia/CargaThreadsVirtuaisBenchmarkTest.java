@@ -0,0 +1,16 @@
+package com.veiculosmg.concorrencia;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Fora do build padrão, e só em Java 21. Rodar com: JAVA21_HOME=... mvn test -Pbenchmark,java21 -Dtest='Carga*'
+@EnabledIf("com.veiculosmg.concorrencia.CargaThreadsVirtuaisBenchmarkTest#java21")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "veiculosmg.concorrencia.threads-virtuais=true")
+public class CargaThreadsVirtuaisBenchmarkTest extends CargaConcorrenteBenchmark {
+
+    static boolean java21() {
+        return Runtime.version().feature() >= 21;
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.veiculosmg.controller;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.model.repository.ClienteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Só a região dos carros desligada: carro vai sempre ao banco, cliente continua no cache de segundo nível.
+@SpringBootTest(properties = "veiculosmg.cache.carros.habilitado=false")
+@AutoConfigureMockMvc
+public class CacheSegundoNivelDesabilitadoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Carro carro;
+
+    private Cliente cliente;
+
+    @AfterEach
+    public void limpa() {
+        if (carro != null) {
+            carroRepository.deleteById(carro.getId());
+        }
+        if (cliente != null) {
+            clienteRepository.delete(cliente);
+        }
+    }
+
+    @Test
+    void testBuscaRepetidaDeCarroPorIdSempreExecutaSqlComARegiaoDesabilitada() throws Exception {
+        carro = carroRepository.save(new Carro("FIAT", "Uno", "CSD1A23", 2015, "HATCH", "FLEX", 100.0));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("sql;desc=\"1\"", ultimaMetricaServerTiming("/api/carros/{id}", carro.getId()));
+        }
+        assertFalse(entityManagerFactory.getCache().contains(Carro.class, carro.getId()));
+    }
+
+    @Test
+    void testRegiaoDosClientesContinuaHabilitada() throws Exception {
+        Endereco endereco = new Endereco("38402200", "Rua Cache", "", "Brasil", "Uberlandia", "MG");
+        cliente = clienteRepository.save(new Cliente("Karina Silva", "41368104070", "10911112220", "cachedes01@gmail.com", LocalDate.parse("2002-06-06"), endereco));
+        entityManagerFactory.getCache().evictAll();
+
+        assertEquals("sql;desc=\"1\"", ultimaMetricaServerTiming("/api/clientes/{id}", cliente.getId()));
+        assertEquals("sql;desc=\"0\"", ultimaMetricaServerTiming("/api/clientes/{id}", cliente.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(Cliente.class, cliente.getId()));
+    }
+
+    /* Privado */
+
+    private String ultimaMetricaServerTiming(String uri, Long id) throws Exception {
+        String serverTiming = mockMvc.perform(get(uri, id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        return serverTiming.substring(serverTiming.lastIndexOf(", ") + 2);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.veiculosmg.controller;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.model.repository.ClienteRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// O cache de segundo nível do Hibernate é o único cache por id: o que evita o SQL aqui é ele.
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CacheSegundoNivelTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Cliente cliente;
+
+    private Carro carro;
+
+    @AfterEach
+    public void limpa() {
+        if (cliente != null) {
+            clienteRepository.delete(cliente);
+        }
+        if (carro != null) {
+            carroRepository.deleteById(carro.getId());
+        }
+    }
+
+    @Test
+    void testBuscaRepetidaDeClientePorIdNaoExecutaSqlAposAquecimento() throws Exception {
+        Endereco endereco = new Endereco("38402200", "Rua Cache", "", "Brasil", "Uberlandia", "MG");
+        cliente = clienteRepository.save(new Cliente("Karina Silva", "41368104070", "10911112220", "cache01@gmail.com", LocalDate.parse("2002-06-06"), endereco));
+        entityManagerFactory.getCache().evictAll();
+
+        assertEquals("sql;desc=\"1\"", ultimaMetricaServerTiming(cliente.getId()));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("sql;desc=\"0\"", ultimaMetricaServerTiming(cliente.getId()));
+        }
+
+        FunctionCounter acertos = registry.get("hibernate.second.level.cache.requests")
+                .tag("region", Cliente.class.getName())
+                .tag("result", "hit")
+                .functionCounter();
+        assertTrue(acertos.count() >= 3);
+    }
+
+    @Test
+    void testBuscaPorIdDepoisDeAtualizarDevolveOValorNovo() throws Exception {
+        carro = carroRepository.save(new Carro("FIAT", "Uno", "CSN2B34", 2015, "HATCH", "FLEX", 100.0));
+        mockMvc.perform(get("/api/carros/{id}", carro.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/carros/{id}", carro.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"marca\":\"FIAT\",\"modelo\":\"Uno Way\",\"placa\":\"CSN2B34\",\"ano\":2015," +
+                                "\"categoria\":\"HATCH\",\"tipoCombustivel\":\"FLEX\",\"valorDiaria\":120.0}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/carros/{id}", carro.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.modelo").value("UNO WAY"))
+                .andExpect(jsonPath("$.valorDiaria").value(120.0));
+    }
+
+    @Test
+    void testConsultaPorCategoriaUsaOCacheDeConsultasAteAProximaEscrita() {
+        carro = carroRepository.save(new Carro("FIAT", "Uno", "CSN1A23", 2015, "SEGUNDONIVEL", "FLEX", 100.0));
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        carroRepository.findByCategoria("SEGUNDONIVEL");
+        long acertosAntes = estatisticas.getQueryCacheHitCount();
+        assertEquals(1, carroRepository.findByCategoria("SEGUNDONIVEL").size());
+        assertEquals(acertosAntes + 1, estatisticas.getQueryCacheHitCount());
+
+        // Escrita na tabela carro invalida o resultado guardado.
+        carro.setValorDiaria(110.0);
+        carro = carroRepository.save(carro);
+        long acertosAposEscrita = estatisticas.getQueryCacheHitCount();
+        assertEquals(110.0, carroRepository.findByCategoria("SEGUNDONIVEL").get(0).getValorDiaria());
+        assertEquals(acertosAposEscrita, estatisticas.getQueryCacheHitCount());
+    }
+
+    /* Privado */
+
+    private String ultimaMetricaServerTiming(Long id) throws Exception {
+        String serverTiming = mockMvc.perform(get("/api/clientes/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        return serverTiming.substring(serverTiming.lastIndexOf(", ") + 2);
+    }
+
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.veiculosmg.exception.AtributoDuplicadoException;
 import com.veiculosmg.exception.RecursoNaoEncontradoException;
 import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.projecao.VersaoRegistro;
 import com.veiculosmg.service.implementacao.ImplCarroService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,12 +13,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Optional;
 
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -78,7 +80,7 @@ public class CarroControllerTestDeErro {
         String requestBody = asJsonString(novoCarro);
         String mensagemErro = "Placa: " + novoCarro.getPlaca() + " já está cadastrada!";
 
-        when(carroService.entidadePorId(id)).thenReturn(Optional.of(carroExistente));
+        when(carroService.versaoPorId(id)).thenReturn(new VersaoRegistro(0L));
         doThrow(new AtributoDuplicadoException(mensagemErro))
                 .when(carroService).updateEntidade(novoCarro, id);
 
@@ -100,7 +102,7 @@ public class CarroControllerTestDeErro {
         String requestBody = asJsonString(novoCarro);
         String mensagemErro = "Carro com Id: " + id + " Não Encontrado!";
 
-        when(carroService.entidadePorId(id)).thenReturn(Optional.of(novoCarro));
+        when(carroService.versaoPorId(id)).thenReturn(new VersaoRegistro(0L));
         doThrow(new RecursoNaoEncontradoException(mensagemErro))
                 .when(carroService).updateEntidade(novoCarro, id);
 
@@ -132,6 +134,42 @@ public class CarroControllerTestDeErro {
                 .andExpect(jsonPath("$.mensagem").value(mensagemErro));
     }
 
+    @Test
+    void testAtualizaCarroComIfMatchDesatualizado_CodigoStatus_412() throws Exception {
+        long id = 1;
+        Carro novoCarro = new Carro("FORD", "Mustang GT", "ABC-1234", 2021, "Esportivo", "Gasolina", 500.0);
+
+        when(carroService.versaoPorId(id)).thenReturn(new VersaoRegistro(5L));
+
+        mockMvc.perform(put("/api/carros/{id}", id)
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(novoCarro)))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.codigoErro").value(412))
+                .andExpect(jsonPath("$.tituloErro").value("Precondition Failed"));
+
+        verify(carroService, never()).updateEntidade(any(), any());
+    }
+
+    @Test
+    void testAtualizaCarroAlteradoPorOutraRequisicao_CodigoStatus_412() throws Exception {
+        long id = 1;
+        Carro carroAtual = new Carro("FORD", "Mustang", "ABC-1234", 2021, "Esportivo", "Gasolina", 450.75);
+
+        when(carroService.versaoPorId(id)).thenReturn(new VersaoRegistro(0L));
+        doThrow(new ObjectOptimisticLockingFailureException(Carro.class, id))
+                .when(carroService).updateEntidade(carroAtual, id);
+
+        mockMvc.perform(put("/api/carros/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(carroAtual)))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.codigoErro").value(412));
+    }
+
 
     // Converte um objeto Java para uma representação JSON
     private String asJsonString(Object object) {
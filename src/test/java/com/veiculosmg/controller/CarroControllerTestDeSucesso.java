@@ -2,22 +2,34 @@ package com.veiculosmg.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.projecao.VersaoColecao;
+import com.veiculosmg.model.projecao.VersaoRegistro;
 import com.veiculosmg.service.implementacao.ImplCarroService;
+import com.veiculosmg.utilitarios.paginacao.Cursor;
+import com.veiculosmg.utilitarios.paginacao.Pagina;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -42,6 +54,7 @@ public class CarroControllerTestDeSucesso {
         Carro carro3 = new Carro(3L, "VW", "Amarok V6", "MGU-0003", 2022, "Caminhonete", "Diesel", 350.45, true);
 
         listaDeCarros = Arrays.asList(carro1, carro2, carro3);
+        when(carroService.versaoColecao()).thenReturn(new VersaoColecao(3L, 3L, 0L));
     }
 
     @Test
@@ -72,7 +85,7 @@ public class CarroControllerTestDeSucesso {
     void testRetornaListaDeCarrosComSucesso_CodigoStatus_200() throws Exception {
         when(carroService.listaEntidades()).thenReturn(listaDeCarros);
 
-        this.mockMvc.perform(get("/api/carros"))
+        this.mockMvc.perform(get("/api/carros").param("todos", "true"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().json("[{\"id\": 1, \"marca\": \"FORD\", \"modelo\": \"Mustang\", \"placa\": \"ABC-1234\", \"ano\": 2021, \"categoria\": \"Esportivo\", \"tipoCombustivel\": \"Gasolina\", \"valorDiaria\": 450.75}," +
@@ -80,6 +93,7 @@ public class CarroControllerTestDeSucesso {
                         "{\"id\": 3 ,\"marca\": \"VW\", \"modelo\": \"Amarok V6\", \"placa\": \"MGU-0003\", \"ano\": 2022, \"categoria\": \"Caminhonete\", \"tipoCombustivel\": \"Diesel\", \"valorDiaria\": 350.45}]"));
 
         verify(carroService).listaEntidades();
+        verify(carroService).versaoColecao();
         verifyNoMoreInteractions(carroService);
     }
 
@@ -89,7 +103,7 @@ public class CarroControllerTestDeSucesso {
 
         when(carroService.listaEntidades()).thenReturn(listaVazia);
 
-        mockMvc.perform(get("/api/carros"))
+        mockMvc.perform(get("/api/carros").param("todos", "true"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]"));
@@ -135,6 +149,18 @@ public class CarroControllerTestDeSucesso {
         verifyNoMoreInteractions(carroService);
     }
 
+    @Test
+    void testRetornaContagemDeCarrosDisponiveisPorCategoriaECombustivel_CodigoStatus_200() throws Exception {
+        when(carroService.contagemDisponiveis()).thenReturn(Map.of("SEDAN", Map.of("GASOLINA", 1L), "CAMINHONETE", Map.of("DIESEL", 1L)));
+
+        this.mockMvc.perform(get("/api/carros/disponiveis/contagem"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"SEDAN\": {\"GASOLINA\": 1}, \"CAMINHONETE\": {\"DIESEL\": 1}}"));
+
+        verify(carroService).contagemDisponiveis();
+        verifyNoMoreInteractions(carroService);
+    }
+
     @Test
     void testRetornaListaDeCarros_SelecionadosPela_CategoriaInformadaComSucesso_CodigoStatus_200() throws Exception{
         String categoria = "Sedan";
@@ -160,7 +186,7 @@ public class CarroControllerTestDeSucesso {
 
         String requestBody = asJsonString(novoCarro);
 
-        when(carroService.entidadePorId(id)).thenReturn(Optional.of(novoCarro));
+        when(carroService.versaoPorId(id)).thenReturn(new VersaoRegistro(0L));
         doNothing().when(carroService).updateEntidade(novoCarro, id);
 
         mockMvc.perform(put("/api/carros/{id}", id)
@@ -179,6 +205,61 @@ public class CarroControllerTestDeSucesso {
         verify(carroService).updateEntidade(novoCarro, id);
     }
 
+    @Test
+    void testRetornaCarroComETagELastModified_CodigoStatus_200() throws Exception {
+        Carro carro = listaDeCarros.get(0);
+        carro.setVersao(4);
+        carro.setAtualizadoEm(Instant.parse("2023-06-01T10:15:30Z"));
+
+        when(carroService.entidadePorId(carro.getId())).thenReturn(Optional.of(carro));
+
+        mockMvc.perform(get("/api/carros/{id}", carro.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(header().string("Last-Modified", "Thu, 01 Jun 2023 10:15:30 GMT"))
+                .andExpect(jsonPath("$.versao").doesNotExist());
+    }
+
+    @Test
+    void testCarroNaoAlteradoDesdeOETagInformado_CodigoStatus_304() throws Exception {
+        Carro carro = listaDeCarros.get(0);
+        carro.setVersao(4);
+
+        when(carroService.entidadePorId(carro.getId())).thenReturn(Optional.of(carro));
+
+        mockMvc.perform(get("/api/carros/{id}", carro.getId()).header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testListaDeCarrosNaoAlteradaNaoBuscaOsCarros_CodigoStatus_304() throws Exception {
+        mockMvc.perform(get("/api/carros").param("todos", "true").header("If-None-Match", "\"3.3.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(carroService).versaoColecao();
+        verifyNoMoreInteractions(carroService);
+    }
+
+    @Test
+    void testAtualizaCarroComIfMatchDaVersaoAtual_CodigoStatus_200() throws Exception {
+        long id = 1;
+        Carro novoCarro = new Carro("BMW", "M4", "ABC-1234", 2022, "Sedan", "Gasolina", 350.5);
+
+        when(carroService.versaoPorId(id)).thenReturn(new VersaoRegistro(4L));
+
+        mockMvc.perform(put("/api/carros/{id}", id)
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(novoCarro)))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<Carro> carroAtualizado = ArgumentCaptor.forClass(Carro.class);
+        verify(carroService).updateEntidade(carroAtualizado.capture(), eq(id));
+        assertEquals(4, carroAtualizado.getValue().getVersao());
+    }
+
     @Test
     void testDeletaOCarroPeloIdInformadoComSucesso_CodigoStatus_204() throws Exception {
         long id = 1L;
@@ -194,6 +275,65 @@ public class CarroControllerTestDeSucesso {
         verify(carroService).deletaEntidade(id);
     }
 
+    @Test
+    void testRetornaPaginaDeCarrosComCursorDaProximaPagina_CodigoStatus_200() throws Exception {
+        String proximoCursor = Cursor.codifica(2L);
+        Pagina<Carro> pagina = new Pagina<>(listaDeCarros.subList(0, 2), proximoCursor);
+
+        when(carroService.listaEntidades(null, 2)).thenReturn(pagina);
+
+        mockMvc.perform(get("/api/carros").param("tamanho", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo.length()").value(2))
+                .andExpect(jsonPath("$.conteudo[1].placa").value("RGD0J07"))
+                .andExpect(jsonPath("$.proximoCursor").value(proximoCursor));
+
+        verify(carroService).listaEntidades(null, 2);
+        verifyNoMoreInteractions(carroService);
+    }
+
+    @Test
+    void testTamanhoDePaginaAcimaDoMaximoELimitado_CodigoStatus_200() throws Exception {
+        String cursor = Cursor.codifica(2L);
+
+        when(carroService.listaEntidades(cursor, 100)).thenReturn(new Pagina<>(List.of(listaDeCarros.get(2)), null));
+
+        mockMvc.perform(get("/api/carros").param("cursor", cursor).param("tamanho", "5000"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].id").value(3))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+        verify(carroService).listaEntidades(cursor, 100);
+        verifyNoMoreInteractions(carroService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportaCarrosEmNdjson_UmCarroPorLinha_CodigoStatus_200() throws Exception {
+        doAnswer(invocacao -> {
+            Consumer<Carro> consumidor = invocacao.getArgument(0);
+            listaDeCarros.forEach(consumidor);
+            return null;
+        }).when(carroService).exportaEntidades(any(Consumer.class));
+
+        MvcResult resultado = mockMvc.perform(get("/api/carros/exportacao"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(3, linhas.length);
+        assertEquals("MGU-0003", new ObjectMapper().readValue(linhas[2], Carro.class).getPlaca());
+    }
+
     // Converte um objeto Java para uma representação JSON
     private String asJsonString(Object object) {
         try {
@@ -0,0 +1,94 @@
+package com.veiculosmg.controller;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.repository.CarroRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Sem impressão do MockMvc: ela lê os cabeçalhos da requisição assíncrona enquanto o streaming ainda escreve neles
+// (ConcurrentModificationException intermitente).
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+public class CatalogoCarroControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    private final List<Carro> carros = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        Carro indisponivel = new Carro("VW", "Amarok", "CAT1A11", 2022, "CATALOGO", "DIESEL", 350.45);
+        indisponivel.setDisponivel(false);
+        carros.add(carroRepository.save(new Carro("FORD", "Ka", "CAT2B22", 2019, "CATALOGO", "FLEX", 120.0)));
+        carros.add(carroRepository.save(new Carro("GM", "Onix", "CAT3C33", 2021, "CATALOGO", "FLEX", 150.0)));
+        carros.add(carroRepository.save(indisponivel));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        carroRepository.deleteAll(carros);
+    }
+
+    @Test
+    void testCatalogoDaCategoriaEmNdjson() throws Exception {
+        String[] linhas = ndjson("/api/catalogo/carros/categoria/catalogo");
+
+        assertEquals(3, linhas.length);
+        assertTrue(linhas[0].contains("\"placa\":\"CAT2B22\""));
+        assertTrue(linhas[1].contains("\"placa\":\"CAT3C33\""));
+        assertTrue(linhas[2].contains("\"disponivel\":false"));
+    }
+
+    @Test
+    void testCatalogoSomenteDisponiveis() throws Exception {
+        String[] linhas = ndjson("/api/catalogo/carros/disponiveis");
+
+        for (String linha : linhas) {
+            assertTrue(linha.contains("\"disponivel\":true"), linha);
+        }
+        assertTrue(List.of(linhas).stream().noneMatch(linha -> linha.contains("CAT1A11")));
+    }
+
+    @Test
+    void testCatalogoCompletoIncluiTodosOsCarros() throws Exception {
+        String corpo = String.join("\n", ndjson("/api/catalogo/carros"));
+
+        carros.forEach(carro -> assertTrue(corpo.contains("\"id\":" + carro.getId() + ",")));
+    }
+
+    /* Privado */
+
+    private String[] ndjson(String caminho) throws Exception {
+        MvcResult resultado = mockMvc.perform(get(caminho).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        return corpo.isBlank() ? new String[0] : corpo.split("\n");
+    }
+
+}
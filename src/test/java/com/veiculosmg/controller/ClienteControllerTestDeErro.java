@@ -8,6 +8,7 @@ import com.veiculosmg.exception.MenorDeIdadeException;
 import com.veiculosmg.exception.RecursoNaoEncontradoException;
 import com.veiculosmg.model.entity.Carro;
 import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.projecao.VersaoCliente;
 import com.veiculosmg.service.implementacao.ImplClienteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -100,7 +101,7 @@ public class ClienteControllerTestDeErro {
         List<String> atributosDuplicados = Arrays.asList("nome", "cpf", "email", "numeroTelefone");
         String mensagemErro = "Os seguintes atributos já estão vinculados a outro cliente: " + atributosDuplicados;
 
-        when(clienteService.entidadePorId(id)).thenReturn(Optional.of(clienteCadastrado));
+        when(clienteService.versaoPorId(id)).thenReturn(new VersaoCliente(0L, null, null));
         doThrow(new AtributoDuplicadoException(mensagemErro))
                 .when(clienteService).updateEntidade(novoCliente, id);
 
@@ -122,7 +123,7 @@ public class ClienteControllerTestDeErro {
         String requestBody = objectMapper.writeValueAsString(clienteAtualizado);
         String mensagemErro = "Cliente com Id: " + id + " Não Encontrado!";
 
-        when(clienteService.entidadePorId(id)).thenReturn(Optional.of(clienteAtualizado));
+        when(clienteService.versaoPorId(id)).thenReturn(new VersaoCliente(0L, null, null));
         doThrow(new RecursoNaoEncontradoException(mensagemErro))
                 .when(clienteService).updateEntidade(clienteAtualizado, id);
 
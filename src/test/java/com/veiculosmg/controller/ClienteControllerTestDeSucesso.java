@@ -4,7 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.veiculosmg.model.entity.Cliente;
 import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.projecao.VersaoCliente;
 import com.veiculosmg.service.implementacao.ImplClienteService;
+import com.veiculosmg.utilitarios.paginacao.Pagina;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -78,7 +80,7 @@ public class ClienteControllerTestDeSucesso {
         String json = "[{\"nome\":\"Karina Silva\",\"cpf\":\"41368104070\",\"numeroTelefone\":\"10911112220\",\"email\":\"teste01@gmail.com\",\"dataNascimento\":\"2002-06-06\"},"
                 + "{\"nome\":\"Hugo Borges\",\"cpf\":\"33255435021\",\"numeroTelefone\":\"20911112221\",\"email\":\"teste02@gmail.com\",\"dataNascimento\":\"2002-06-06\"}]";
 
-        this.mockMvc.perform(get("/api/clientes"))
+        this.mockMvc.perform(get("/api/clientes").param("todos", "true"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().json(json));
@@ -93,7 +95,7 @@ public class ClienteControllerTestDeSucesso {
 
         when(clienteService.listaEntidades()).thenReturn(listaVazia);
 
-        mockMvc.perform(get("/api/clientes"))
+        mockMvc.perform(get("/api/clientes").param("todos", "true"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]"));
@@ -120,6 +122,30 @@ public class ClienteControllerTestDeSucesso {
         verifyNoMoreInteractions(clienteService);
     }
 
+    @Test
+    void clienteNaoAlteradoDesdeOETagQueIncluiOEndereco_CodigoStatus_304() throws Exception {
+        Cliente cliente = listaClientes.get(1);
+        cliente.setId(1L);
+        cliente.setVersao(2);
+        cliente.getEndereco().setVersao(1);
+
+        when(clienteService.entidadePorId(1L)).thenReturn(Optional.of(cliente));
+
+        this.mockMvc.perform(get("/api/clientes/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2.1\""));
+
+        this.mockMvc.perform(get("/api/clientes/{id}", 1L).header("If-None-Match", "\"2.1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // Alteração feita só no endereço invalida o ETag do cliente.
+        cliente.getEndereco().setVersao(2);
+        this.mockMvc.perform(get("/api/clientes/{id}", 1L).header("If-None-Match", "\"2.1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2.2\""));
+    }
+
     @Test
     void atualizaClientePassandoONovoClienteEOIdComSucesso_CodigoStatus_200() throws Exception {
         long id = 1;
@@ -128,7 +154,7 @@ public class ClienteControllerTestDeSucesso {
 
         String requestBody = objectMapper.writeValueAsString(novoCliente);
 
-        when(clienteService.entidadePorId(id)).thenReturn(Optional.of(novoCliente));
+        when(clienteService.versaoPorId(id)).thenReturn(new VersaoCliente(0L, null, null));
         doNothing().when(clienteService).updateEntidade(novoCliente, id);
 
         mockMvc.perform(put("/api/clientes/{id}", id)
@@ -161,6 +187,20 @@ public class ClienteControllerTestDeSucesso {
     }
 
 
+    @Test
+    void retornaPrimeiraPaginaDeClientesComTamanhoPadrao_CodigoStatus_200() throws Exception {
+        when(clienteService.listaEntidades(null, 20)).thenReturn(new Pagina<>(listaClientes, null));
+
+        mockMvc.perform(get("/api/clientes"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo.length()").value(2))
+                .andExpect(jsonPath("$.conteudo[0].cpf").value("41368104070"));
+
+        verify(clienteService).listaEntidades(null, 20);
+        verifyNoMoreInteractions(clienteService);
+    }
+
     // Converte um objeto Java para uma representação JSON
     private String asJsonString(Object object) {
         try {
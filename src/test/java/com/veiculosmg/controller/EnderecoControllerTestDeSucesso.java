@@ -2,7 +2,10 @@ package com.veiculosmg.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.projecao.VersaoRegistro;
 import com.veiculosmg.service.implementacao.ImplEnderecoService;
+import com.veiculosmg.utilitarios.paginacao.Cursor;
+import com.veiculosmg.utilitarios.paginacao.Pagina;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -70,7 +73,7 @@ public class EnderecoControllerTestDeSucesso {
         String json = "[{\"cep\": \"38402200\", \"logradouro\": \"Rua Teste API 1\", \"complemento\": \"\", \"bairro\": \"Brasil\", \"localidade\": \"Uberlandia\", \"uf\": \"MG\"},"
                 + "{\"cep\": \"38402201\", \"logradouro\": \"Rua Teste API 2\", \"complemento\": \"\", \"bairro\": \"Martins\", \"localidade\": \"Uberlandia\", \"uf\": \"MG\"}]";
 
-        this.mockMvc.perform(get("/api/enderecos"))
+        this.mockMvc.perform(get("/api/enderecos").param("todos", "true"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().json(json));
@@ -109,7 +112,7 @@ public class EnderecoControllerTestDeSucesso {
 
         String requestBody = asJsonString(novoEndereco);
 
-        when(enderecoService.entidadePorId(id)).thenReturn(Optional.of(novoEndereco));
+        when(enderecoService.versaoPorId(id)).thenReturn(new VersaoRegistro(0L));
         doNothing().when(enderecoService).updateEntidade(novoEndereco, id);
 
         mockMvc.perform(put("/api/enderecos/{id}", id)
@@ -142,6 +145,22 @@ public class EnderecoControllerTestDeSucesso {
         verify(enderecoService).deletaEntidade(id);
     }
 
+    @Test
+    void testRetornaPaginaDeEnderecosAPartirDoCursor_CodigoStatus_200() throws Exception {
+        String cursor = Cursor.codifica(1L);
+
+        when(enderecoService.listaEntidades(cursor, 1)).thenReturn(new Pagina<>(listaEnderecos.subList(1, 2), Cursor.codifica(2L)));
+
+        mockMvc.perform(get("/api/enderecos").param("cursor", cursor).param("tamanho", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].cep").value("38402201"))
+                .andExpect(jsonPath("$.proximoCursor").value(Cursor.codifica(2L)));
+
+        verify(enderecoService).listaEntidades(cursor, 1);
+        verifyNoMoreInteractions(enderecoService);
+    }
+
     // Converte um objeto Java para uma representação JSON
     private String asJsonString(Object object) {
         try {
@@ -0,0 +1,89 @@
+package com.veiculosmg.controller;
+
+import com.veiculosmg.gerador.GeradorDeDados;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.repository.ClienteRepository;
+import com.veiculosmg.suporte.sql.ComandosSql;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Conta os comandos SQL da requisição com poucos e com muitos clientes: o número de selects
+// da listagem não pode crescer com a quantidade de linhas. O cache de segundo nível é limpo antes de cada
+// medição para que um N+1 apareça como SQL em vez de ficar escondido em acertos de cache.
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ListagemClientesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Cliente> clientes = new ArrayList<>();
+
+    @AfterEach
+    public void limpa() {
+        clienteRepository.deleteAll(clientes);
+    }
+
+    @Test
+    void testListagemCompletaDeClientesComEnderecoNaoCresceComAQuantidade() throws Exception {
+        criaClientes(3);
+        int comPoucos = comandosSql(get("/api/clientes").param("todos", "true")).quantidade();
+
+        criaClientes(12);
+        int comMuitos = comandosSql(get("/api/clientes").param("todos", "true")).quantidade();
+
+        assertEquals(1, comPoucos);
+        assertEquals(comPoucos, comMuitos);
+    }
+
+    @Test
+    void testPaginaDeClientesComEnderecoEmUmSelect() throws Exception {
+        criaClientes(15);
+
+        mockMvc.perform(get("/api/clientes").param("tamanho", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo.length()").value(10))
+                .andExpect(jsonPath("$.conteudo[9].endereco.cep").value("38400000"));
+
+        comandosSql(get("/api/clientes").param("tamanho", "10")).exatamente(1).semSelectIlimitado();
+    }
+
+    /* Privado */
+
+    private ComandosSql comandosSql(MockHttpServletRequestBuilder requisicao) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        return ComandosSql.durante(() -> mockMvc.perform(requisicao).andExpect(status().isOk()));
+    }
+
+    private void criaClientes(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            int numero = clientes.size() + 1;
+            Endereco endereco = new Endereco("38400000", "Rua " + numero, "", "Centro", "Uberlandia", "MG");
+            clientes.add(clienteRepository.save(new Cliente("Cliente " + numero, GeradorDeDados.cpfDaBase(100_000_000L + numero),
+                    String.format("349%08d", numero), "listagem" + numero + "@gmail.com", LocalDate.parse("1990-01-01"), endereco)));
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.veiculosmg.controller;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.model.repository.ClienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Contra o H2: fields= seleciona só as colunas pedidas, e a associação só entra na consulta (left join,
+// um único SELECT) quando algum campo dela é pedido.
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProjecaoCamposTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private final List<Carro> carros = new ArrayList<>();
+
+    private final List<Cliente> clientes = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        carros.add(carroRepository.save(new Carro("FIAT", "Uno", "PRJ1A11", 2015, "Hatch", "Flex", 100.0)));
+        carros.add(carroRepository.save(new Carro("FIAT", "Mobi", "PRJ2B22", 2020, "Hatch", "Flex", 110.0)));
+
+        Endereco endereco = new Endereco("38402200", "Rua Projecao", "", "Brasil", "Uberlandia", "MG");
+        clientes.add(clienteRepository.save(new Cliente("Karina Silva", "41368104070", "10911112220", "projecao01@gmail.com", LocalDate.parse("2002-06-06"), endereco)));
+        clientes.add(clienteRepository.save(new Cliente("Hugo Borges", "33255435021", "20911112221", "projecao02@gmail.com", LocalDate.parse("2002-06-06"))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        carroRepository.deleteAll(carros);
+        clienteRepository.deleteAll(clientes);
+    }
+
+    @Test
+    void testListaDeCarrosComSoOsCamposPedidosEPaginada() throws Exception {
+        mockMvc.perform(get("/api/carros").param("fields", "modelo,placa,valorDiaria").param("tamanho", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0]", aMapWithSize(4)))
+                .andExpect(jsonPath("$.conteudo[0].id").value(carros.get(0).getId()))
+                .andExpect(jsonPath("$.conteudo[0].modelo").value("Uno"))
+                .andExpect(jsonPath("$.conteudo[0].placa").value("PRJ1A11"))
+                .andExpect(jsonPath("$.conteudo[0].valorDiaria").value(100.0))
+                .andExpect(jsonPath("$.proximoCursor").exists());
+    }
+
+    @Test
+    void testListaDeClientesComCampoDoEnderecoEmUmUnicoSelect() throws Exception {
+        mockMvc.perform(get("/api/clientes").param("fields", "nome, endereco.cep").param("todos", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", endsWith("sql;desc=\"1\"")))
+                .andExpect(jsonPath("$[0]", aMapWithSize(3)))
+                .andExpect(jsonPath("$[0].nome").value("Karina Silva"))
+                .andExpect(jsonPath("$[0].endereco.cep").value("38402200"))
+                .andExpect(jsonPath("$[0].endereco.logradouro").doesNotExist())
+                .andExpect(jsonPath("$[1].nome").value("Hugo Borges"))
+                .andExpect(jsonPath("$[1].endereco").isEmpty());
+    }
+
+    @Test
+    void testCampoInexistenteOuIgnoradoNoJson_CodigoStatus_400() throws Exception {
+        mockMvc.perform(get("/api/enderecos").param("fields", "cep,versao"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value(containsString("[versao]")));
+    }
+
+}
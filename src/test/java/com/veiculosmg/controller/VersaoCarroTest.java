@@ -0,0 +1,122 @@
+package com.veiculosmg.controller;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.repository.CarroRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Fluxo completo contra o H2: a versão do ETag é a coluna @Version gravada pelo Hibernate.
+@SpringBootTest
+@AutoConfigureMockMvc
+public class VersaoCarroTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Carro carro;
+
+    @AfterEach
+    public void limpa() {
+        if (carro != null) {
+            carroRepository.deletaPorId(carro.getId());
+        }
+    }
+
+    @Test
+    void testPutComIfMatchAtualizaAVersaoEPutComVersaoAntigaRetorna412() throws Exception {
+        carro = carroRepository.save(new Carro("FIAT", "Uno", "VRS1A23", 2015, "Hatch", "Flex", 120.0));
+        String corpo = "{\"marca\":\"FIAT\",\"modelo\":\"Uno Way\",\"placa\":\"VRS1A23\",\"ano\":2015,"
+                + "\"categoria\":\"Hatch\",\"tipoCombustivel\":\"Flex\",\"valorDiaria\":130.0}";
+
+        mockMvc.perform(get("/api/carros/{id}", carro.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(header().exists("Last-Modified"));
+
+        mockMvc.perform(put("/api/carros/{id}", carro.getId())
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/carros/{id}", carro.getId()).header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(put("/api/carros/{id}", carro.getId())
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    // Um update fora do Hibernate não passa pelo cache de segundo nível: o GET ainda serve a entidade em cache,
+    // mas a versão do If-Match vem da tabela.
+    @Test
+    void testIfMatchComparaComAVersaoDoBancoENaoComADaEntidadeEmCache() throws Exception {
+        carro = carroRepository.save(new Carro("FIAT", "Mobi", "VRS3C45", 2019, "Hatch", "Flex", 110.0));
+        String corpo = "{\"marca\":\"FIAT\",\"modelo\":\"Mobi Like\",\"placa\":\"VRS3C45\",\"ano\":2019,"
+                + "\"categoria\":\"Hatch\",\"tipoCombustivel\":\"Flex\",\"valorDiaria\":115.0}";
+
+        mockMvc.perform(get("/api/carros/{id}", carro.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+
+        jdbcTemplate.update("update carro set versao = versao + 1 where id = ?", carro.getId());
+
+        mockMvc.perform(put("/api/carros/{id}", carro.getId())
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testETagDaColecaoMudaQuandoUmCarroEAlterado() throws Exception {
+        carro = carroRepository.save(new Carro("FIAT", "Palio", "VRS2B34", 2016, "Hatch", "Flex", 130.0));
+
+        String etagAntes = mockMvc.perform(get("/api/carros").param("todos", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/carros").param("todos", "true").header("If-None-Match", etagAntes))
+                .andExpect(status().isNotModified());
+
+        carro.setValorDiaria(140.0);
+        carro = carroRepository.save(carro);
+
+        String etagDepois = mockMvc.perform(get("/api/carros").param("todos", "true").header("If-None-Match", etagAntes))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etagAntes, etagDepois);
+    }
+
+    // Páginas do cursor não pagam a consulta agregada da tabela inteira.
+    @Test
+    void testPaginaDoCursorNaoTemETagDaColecao() throws Exception {
+        carro = carroRepository.save(new Carro("FIAT", "Argo", "VRS4D56", 2021, "Hatch", "Flex", 150.0));
+
+        mockMvc.perform(get("/api/carros").param("tamanho", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.veiculosmg.gerador;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.model.repository.ClienteRepository;
+import com.veiculosmg.service.implementacao.IndiceDisponibilidadeCarros;
+import com.veiculosmg.utilitarios.NormalizadorPlaca;
+import com.veiculosmg.utilitarios.anotacoes.CPF;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Gera uma massa pequena no H2 compartilhado dos testes e apaga tudo o que passou do maior id anterior.
+@SpringBootTest
+public class GeradorDeDadosTest {
+
+    @Autowired
+    private GeradorDeDados geradorDeDados;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private IndiceDisponibilidadeCarros indiceDisponibilidade;
+
+    @Autowired
+    private Validator validator;
+
+    private long maiorIdCarro;
+
+    private long maiorIdCliente;
+
+    private long maiorIdEndereco;
+
+    @BeforeEach
+    public void setUp() {
+        maiorIdCarro = maiorId("carro");
+        maiorIdCliente = maiorId("cliente");
+        maiorIdEndereco = maiorId("endereco");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from cliente where id > ?", maiorIdCliente);
+        jdbcTemplate.update("delete from endereco where id > ?", maiorIdEndereco);
+        jdbcTemplate.update("delete from carro where id > ?", maiorIdCarro);
+        entityManagerFactory.getCache().evictAll();
+        indiceDisponibilidade.reconcilia();
+    }
+
+    @Test
+    void testCarrosGeradosComPlacasUnicasNosDoisFormatos() {
+        geradorDeDados.geraCarros(300);
+
+        List<String> placas = jdbcTemplate.queryForList("select placa from carro where id > ?", String.class, maiorIdCarro);
+        assertEquals(300, placas.size());
+        assertEquals(300, new HashSet<>(placas).size());
+        assertTrue(placas.stream().allMatch(placa -> NormalizadorPlaca.formata(placa).equals(placa)));
+        assertTrue(placas.stream().anyMatch(placa -> NormalizadorPlaca.isMercosul(NormalizadorPlaca.chave(placa))));
+        assertTrue(placas.stream().anyMatch(placa -> !NormalizadorPlaca.isMercosul(NormalizadorPlaca.chave(placa))));
+    }
+
+    @Test
+    void testCarroSalvoPeloHibernateDepoisDaGeracaoNaoRepeteId() {
+        carroRepository.save(new Carro("FIAT", "UNO", "GER1A11", 2015, "HATCH", "FLEX", 100.0));
+        geradorDeDados.geraCarros(120);
+
+        // Passa do bloco de ids que o Hibernate já tinha reservado antes da geração.
+        List<Carro> novos = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            novos.add(new Carro("VW", "GOL", String.format("GER%04d", i), 2012, "HATCH", "FLEX", 90.0));
+        }
+        carroRepository.saveAll(novos);
+
+        assertEquals(181, jdbcTemplate.queryForObject("select count(distinct id) from carro where id > ?", Long.class, maiorIdCarro));
+    }
+
+    @Test
+    void testClientesGeradosValidosComEnderecoETelefoneEEmailUnicos() {
+        geradorDeDados.geraClientes(200);
+
+        List<Cliente> clientes = clienteRepository.findByIdGreaterThanOrderByIdAsc(maiorIdCliente, PageRequest.of(0, 500));
+        assertEquals(200, clientes.size());
+
+        Set<String> telefones = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Cliente cliente : clientes) {
+            assertTrue(CPF.CpfValidator.cpfValido(cliente.getCpf()), cliente.getCpf());
+            assertTrue(validator.validate(cliente).isEmpty(), cliente.toString());
+            assertNotNull(cliente.getEndereco());
+            assertTrue(validator.validate(cliente.getEndereco()).isEmpty(), cliente.getEndereco().toString());
+            telefones.add(cliente.getNumeroTelefone());
+            emails.add(cliente.getEmail());
+        }
+        assertEquals(200, telefones.size());
+        assertEquals(200, emails.size());
+    }
+
+    @Test
+    void testPlacaECpfDependemSoDoIndice() {
+        assertEquals(GeradorDeDados.placa(7, 2010), GeradorDeDados.placa(7, 2010));
+        assertEquals(GeradorDeDados.cpf(7), GeradorDeDados.cpf(7));
+        assertTrue(CPF.CpfValidator.cpfValido(GeradorDeDados.cpf(0)));
+    }
+
+    /* Privado */
+
+    private long maiorId(String tabela) {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + tabela, Long.class);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.veiculosmg.metricas;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.rastreamento.TempoRequisicaoFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    private Carro carro;
+
+    @AfterEach
+    public void limpa() {
+        if (carro != null) {
+            carroRepository.deleteById(carro.getId());
+        }
+    }
+
+    @Test
+    void testScrapePrometheusExpoeMetricasDaAplicacao() throws Exception {
+        carro = carroRepository.save(new Carro("FIAT", "Uno", "MTR1A23", 2015, "Hatch", "Flex", 120.0));
+
+        mockMvc.perform(get("/api/carros/{id}", carro.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/carros/{id}", carro.getId())).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("veiculosmg_servico_seconds_bucket{"));
+        assertTrue(scrape.contains("servico=\"ImplCarroService\""));
+        assertTrue(scrape.contains("veiculosmg_repositorio_seconds_count{"));
+        assertTrue(scrape.contains("repositorio=\"CarroRepository\""));
+        assertTrue(scrape.contains("veiculosmg_requisicao_chamadas_repositorio_chamadas_count{"));
+        assertTrue(scrape.contains("hibernate_second_level_cache_requests_total{"));
+        assertTrue(scrape.contains("hikaricp_connections_active{"));
+    }
+
+    @Test
+    void testContagemDeChamadasAoRepositorioPorRequisicao() throws Exception {
+        carro = carroRepository.save(new Carro("FIAT", "Palio", "MTR2B34", 2016, "Hatch", "Flex", 130.0));
+
+        // Cada busca por id é uma chamada ao repositório, venha a entidade do banco ou do cache de segundo nível.
+        mockMvc.perform(get("/api/carros/{id}", carro.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/carros/{id}", carro.getId())).andExpect(status().isOk());
+
+        DistributionSummary chamadas = registry.get(TempoRequisicaoFilter.METRICA_CHAMADAS_REPOSITORIO)
+                .tag("method", "GET")
+                .tag("uri", "/api/carros/{id}")
+                .summary();
+
+        assertTrue(chamadas.count() >= 2);
+        assertEquals(1.0, chamadas.max());
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.veiculosmg.rastreamento;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequisicaoIdFilterTest {
+
+    private final RequisicaoIdFilter filter = new RequisicaoIdFilter();
+
+    @Test
+    void testReaproveitaIdRecebidoNoMdcENaResposta() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/carros");
+        request.addHeader(RequisicaoIdFilter.CABECALHO, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> idNoMdc = new AtomicReference<>();
+
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                idNoMdc.set(MDC.get(RequisicaoIdFilter.CHAVE_MDC));
+            }
+        });
+
+        assertEquals("abc-123", idNoMdc.get());
+        assertEquals("abc-123", response.getHeader(RequisicaoIdFilter.CABECALHO));
+        assertNull(MDC.get(RequisicaoIdFilter.CHAVE_MDC));
+    }
+
+    @Test
+    void testGeraNovoIdQuandoORecebidoNaoESeguro() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/carros");
+        request.addHeader(RequisicaoIdFilter.CABECALHO, "abc\n{\"level\":\"ERROR\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        String requestId = response.getHeader(RequisicaoIdFilter.CABECALHO);
+        assertNotNull(requestId);
+        assertEquals(36, requestId.length());
+    }
+
+    @Test
+    void testUsaCorrelationIdQuandoORequestIdRecebidoNaoESeguro() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/carros");
+        request.addHeader(RequisicaoIdFilter.CABECALHO, "abc 123");
+        request.addHeader(RequisicaoIdFilter.CABECALHO_CORRELACAO, "corr-456");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals("corr-456", response.getHeader(RequisicaoIdFilter.CABECALHO));
+    }
+
+}
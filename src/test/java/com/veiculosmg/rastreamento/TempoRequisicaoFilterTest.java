@@ -0,0 +1,69 @@
+package com.veiculosmg.rastreamento;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.repository.CarroRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TempoRequisicaoFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Carro carro;
+
+    @AfterEach
+    public void limpa() {
+        if (carro != null) {
+            carroRepository.deleteById(carro.getId());
+        }
+    }
+
+    @Test
+    void testServerTimingComTempoDeBancoEComandosSql() throws Exception {
+        carro = carroRepository.save(new Carro("FIAT", "Mobi", "TMP3C45", 2020, "Hatch", "Flex", 110.0));
+        // O save já deixa o carro no cache de segundo nível; limpo para a primeira busca medir o select.
+        entityManagerFactory.getCache().evictAll();
+
+        // Primeira busca vai ao banco (um select), a segunda sai do cache por id.
+        String primeira = mockMvc.perform(get("/api/carros/{id}", carro.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(RequisicaoIdFilter.CABECALHO))
+                .andReturn().getResponse().getHeader("Server-Timing");
+        String segunda = mockMvc.perform(get("/api/carros/{id}", carro.getId()))
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        assertNotNull(primeira);
+        assertTrue(primeira.matches("app;dur=[0-9.]+, db;dur=[0-9.]+, sql;desc=\"1\""), primeira);
+        assertTrue(segunda.endsWith("db;dur=0.0, sql;desc=\"0\""), segunda);
+    }
+
+    @Test
+    void testServerTimingEmRespostaDeErro() throws Exception {
+        String serverTiming = mockMvc.perform(get("/api/carros/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.endsWith("sql;desc=\"1\""), serverTiming);
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.model.entity.Carro;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Fora do build padrão. Rodar com: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@Slf4j
+public class DisponibilidadePorPeriodoBenchmarkTest {
+
+    private static final int CARROS = 100_000;
+
+    private static final int RESERVAS_POR_CARRO = 10;
+
+    private static final int CATEGORIAS = 20;
+
+    private static final long PRIMEIRO_ID = 50_000_000L;
+
+    private static final int CONSULTAS = 300;
+
+    // Mesma consulta de CarroRepository.buscaLivresNoPeriodo, por JDBC: sem o cache de consultas nem o de segundo
+    // nível, que devolveriam da memória as consultas repetidas do aquecimento.
+    private static final String LIVRES_NO_PERIODO = """
+            select c.id, c.marca, c.modelo, c.placa, c.ano, c.categoria, c.tipo_combustivel, c.valor_diaria, c.disponivel
+            from carro c
+            where c.categoria = ? and c.disponivel = true
+              and not exists (select 1 from locacao l where l.carro_id = c.id and l.data_inicio < ? and l.data_fim > ?)
+            order by c.id""";
+
+    @Autowired
+    private ImplCarroService carroService;
+
+    @Autowired
+    private IndiceDisponibilidadeCarros indiceDisponibilidade;
+
+    @Autowired
+    private IndiceReservasCarros indiceReservas;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LocalDate inicioDaJanela = LocalDate.now().plusDays(1);
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from locacao where id >= ?", PRIMEIRO_ID);
+        jdbcTemplate.update("delete from carro where id >= ?", PRIMEIRO_ID);
+        jdbcTemplate.update("delete from cliente where id = ?", PRIMEIRO_ID);
+    }
+
+    @Test
+    void testComparaIndiceEmMemoriaComConsultaSql() {
+        populaFrotaEReservas();
+        indiceDisponibilidade.reconcilia();
+        indiceReservas.reconcilia();
+
+        Random aleatorio = new Random(7);
+        List<Object[]> consultas = new ArrayList<>();
+        for (int i = 0; i < CONSULTAS; i++) {
+            LocalDate dataInicio = inicioDaJanela.plusDays(aleatorio.nextInt(180));
+            consultas.add(new Object[]{"CAT" + aleatorio.nextInt(CATEGORIAS), dataInicio, dataInicio.plusDays(1 + aleatorio.nextInt(7))});
+        }
+
+        // Aquecimento e conferência: os dois caminhos precisam devolver os mesmos carros.
+        for (Object[] consulta : consultas.subList(0, 30)) {
+            assertEquals(ids(livresNoPeriodoPorSql((String) consulta[0], (LocalDate) consulta[1], (LocalDate) consulta[2])),
+                    ids(carroService.disponiveisNoPeriodo((String) consulta[0], (LocalDate) consulta[1], (LocalDate) consulta[2])));
+        }
+
+        long inicioIndice = System.nanoTime();
+        long carrosIndice = 0;
+        for (Object[] consulta : consultas) {
+            carrosIndice += carroService.disponiveisNoPeriodo((String) consulta[0], (LocalDate) consulta[1], (LocalDate) consulta[2]).size();
+        }
+        long nanosIndice = System.nanoTime() - inicioIndice;
+
+        entityManagerFactory.getCache().evictAll();
+        long inicioSql = System.nanoTime();
+        long carrosSql = 0;
+        for (Object[] consulta : consultas) {
+            carrosSql += livresNoPeriodoPorSql((String) consulta[0], (LocalDate) consulta[1], (LocalDate) consulta[2]).size();
+        }
+        long nanosSql = System.nanoTime() - inicioSql;
+
+        assertEquals(carrosSql, carrosIndice);
+        log.info("Busca por período ({} carros, {} reservas, {} consultas): índice {} µs/consulta, SQL {} µs/consulta",
+                CARROS, CARROS * RESERVAS_POR_CARRO, CONSULTAS, nanosIndice / CONSULTAS / 1_000, nanosSql / CONSULTAS / 1_000);
+    }
+
+    /* Privado */
+
+    private void populaFrotaEReservas() {
+        jdbcTemplate.update("insert into cliente (id, nome, cpf, numero_telefone, email, data_nascimento) values (?, ?, ?, ?, ?, ?)",
+                PRIMEIRO_ID, "Benchmark", "52998224725", "31999990000", "benchmark@veiculosmg.com", Date.valueOf("1990-01-01"));
+
+        Random aleatorio = new Random(42);
+        List<Object[]> carros = new ArrayList<>(CARROS);
+        List<Object[]> reservas = new ArrayList<>(CARROS * RESERVAS_POR_CARRO);
+        long idReserva = PRIMEIRO_ID;
+        for (int i = 0; i < CARROS; i++) {
+            long idCarro = PRIMEIRO_ID + i;
+            carros.add(new Object[]{idCarro, "MARCA", "MODELO", String.format("BM%07d", i), 2020, "CAT" + (i % CATEGORIAS), "FLEX", 100.0, true});
+
+            LocalDate dataInicio = inicioDaJanela.plusDays(aleatorio.nextInt(10));
+            for (int r = 0; r < RESERVAS_POR_CARRO; r++) {
+                LocalDate dataFim = dataInicio.plusDays(1 + aleatorio.nextInt(5));
+                reservas.add(new Object[]{idReserva++, PRIMEIRO_ID, idCarro, Date.valueOf(dataInicio), Date.valueOf(dataFim), 100.0});
+                dataInicio = dataFim.plusDays(aleatorio.nextInt(20));
+            }
+        }
+
+        jdbcTemplate.batchUpdate("insert into carro (id, marca, modelo, placa, ano, categoria, tipo_combustivel, valor_diaria, disponivel) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)", carros);
+        jdbcTemplate.batchUpdate("insert into locacao (id, cliente_id, carro_id, data_inicio, data_fim, valor_total) values (?, ?, ?, ?, ?, ?)", reservas);
+    }
+
+    private List<Carro> livresNoPeriodoPorSql(String categoria, LocalDate dataInicio, LocalDate dataFim) {
+        return jdbcTemplate.query(LIVRES_NO_PERIODO, (linha, numero) -> new Carro(linha.getLong("id"), linha.getString("marca"),
+                        linha.getString("modelo"), linha.getString("placa"), linha.getInt("ano"), linha.getString("categoria"),
+                        linha.getString("tipo_combustivel"), linha.getDouble("valor_diaria"), linha.getBoolean("disponivel")),
+                categoria, Date.valueOf(dataFim), Date.valueOf(dataInicio));
+    }
+
+    private static List<Long> ids(List<Carro> carros) {
+        return carros.stream().map(Carro::getId).toList();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.suporte.sql.ComandosSql;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Quantos comandos cada operação do serviço manda ao H2. Um findAll escondido numa verificação de placa ou de
+// disponibilidade aparece aqui como um select sem where, mesmo que o resultado do teste continue certo.
+@SpringBootTest
+public class ImplCarroServiceComandosSqlTest {
+
+    @Autowired
+    private ImplCarroService carroService;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    private final List<Carro> carros = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        carros.forEach(carro -> carroRepository.deleteById(carro.getId()));
+    }
+
+    @Test
+    void testSalvaNovoCarroVerificaAPlacaSemLerATabela() throws Exception {
+        Carro carro = new Carro("FIAT", "Uno", "SQL1A01", 2015, "Hatch", "Flex", 100.0);
+
+        // Verificação da placa e insert, mais o próximo bloco da sequência do id quando o atual acaba.
+        ComandosSql.durante(() -> carros.add(carroService.salvaNovaEntidade(carro)))
+                .noMaximo(3)
+                .semSelectIlimitado();
+    }
+
+    @Test
+    void testAtualizaCarroEmNoMaximoDoisComandos() throws Exception {
+        Carro carro = carroRepository.save(new Carro("FIAT", "Mobi", "SQL2B02", 2020, "Hatch", "Flex", 110.0));
+        carros.add(carro);
+        Carro carroAtualizado = new Carro("FIAT", "Mobi Like", "SQL2B02", 2020, "Hatch", "Flex", 115.0);
+
+        ComandosSql.durante(() -> carroService.updateEntidade(carroAtualizado, carro.getId()))
+                .noMaximo(2)
+                .semSelectIlimitado();
+
+        assertEquals("MOBI LIKE", carroRepository.findById(carro.getId()).orElseThrow().getModelo());
+    }
+
+    @Test
+    void testDeletaCarroComUmaChecagemDeLocacoesEUmUnicoDelete() throws Exception {
+        Carro carro = carroRepository.save(new Carro("VW", "Gol", "SQL3C03", 2018, "Hatch", "Flex", 90.0));
+
+        ComandosSql comandos = ComandosSql.durante(() -> carroService.deletaEntidade(carro.getId())).exatamente(2);
+
+        assertTrue(comandos.sql().get(0).toLowerCase().contains("from locacao"));
+        assertTrue(comandos.sql().get(1).toLowerCase().startsWith("delete"));
+    }
+
+    @Test
+    void testPaginaDeCarrosEmUmUnicoSelect() throws Exception {
+        carros.add(carroRepository.save(new Carro("GM", "Celta", "SQL5E05", 2012, "Hatch", "Flex", 80.0)));
+        carros.add(carroRepository.save(new Carro("GM", "Prisma", "SQL6F06", 2014, "Sedan", "Flex", 95.0)));
+
+        ComandosSql.durante(() -> assertEquals(1, carroService.listaEntidades(null, 1).conteudo().size()))
+                .exatamente(1);
+    }
+
+    @Test
+    void testCarrosDisponiveisNaoLeemATabelaInteira() throws Exception {
+        carros.add(carroRepository.save(new Carro("GM", "Onix", "SQL4D04", 2021, "Hatch", "Flex", 120.0)));
+
+        ComandosSql.durante(() -> carroService.disponivel())
+                .noMaximo(1)
+                .semSelectIlimitado();
+    }
+
+}
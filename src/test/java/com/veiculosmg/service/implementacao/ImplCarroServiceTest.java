@@ -1,23 +1,42 @@
 package com.veiculosmg.service.implementacao;
 
+import com.veiculosmg.configuration.ImportacaoConfig;
 import com.veiculosmg.exception.AtributoDuplicadoException;
+import com.veiculosmg.exception.AtributoInvalidoException;
+import com.veiculosmg.exception.RecursoEmUsoException;
 import com.veiculosmg.exception.RecursoNaoEncontradoException;
 import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.importacao.RelatorioImportacao;
+import com.veiculosmg.model.importacao.StatusImportacao;
+import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.model.repository.LocacaoRepository;
 import com.veiculosmg.service.CarroService;
+import com.veiculosmg.utilitarios.paginacao.Cursor;
+import com.veiculosmg.utilitarios.paginacao.Pagina;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +48,21 @@ public class ImplCarroServiceTest {
     @Mock
     private CarroService carroServiceMock;
 
+    @Mock
+    private CarroRepository carroRepository;
+
+    @Mock
+    private LocacaoRepository locacaoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private IndiceDisponibilidadeCarros indiceDisponibilidade;
+
+    @Mock
+    private IndiceReservasCarros indiceReservas;
+
     private List<Carro> listaCarros;
 
     @BeforeEach
@@ -193,4 +227,240 @@ public class ImplCarroServiceTest {
         verifyNoMoreInteractions(carroServiceMock);
     }
 
+    @Test
+    void testSalvaCarroVerificaPlacaPeloIndiceSemBuscarTodosOsCarros() {
+        Carro novoCarro = new Carro("Ford", "Ka", "abc1234", 2015, "Hatch", "Flex", 120.0);
+
+        when(carroRepository.existsByPlaca("ABC-1234")).thenReturn(false);
+
+        implCarroService.salvaNovaEntidade(novoCarro);
+
+        assertEquals("ABC-1234", novoCarro.getPlaca());
+        verify(carroRepository).existsByPlaca("ABC-1234");
+        verify(carroRepository).save(novoCarro);
+        verify(carroRepository, never()).findAll();
+    }
+
+    @Test
+    void testSalvaCarroComPlacaJaCadastradaNoFormatoAntigoDeveLancarExcecao() {
+        Carro novoCarro = new Carro("Ford", "Ka", "ABC-1234", 2015, "Hatch", "Flex", 120.0);
+
+        when(carroRepository.existsByPlaca("ABC-1234")).thenReturn(true);
+
+        assertThrows(AtributoDuplicadoException.class, () -> implCarroService.salvaNovaEntidade(novoCarro));
+
+        verify(carroRepository, never()).save(any());
+        verify(carroRepository, never()).findAll();
+    }
+
+    @Test
+    void testAtualizaCarroVerificaPlacaPeloIndiceSemBuscarTodosOsCarros() {
+        long id = 5;
+        Carro carroQueJaEstaSalvo = listaCarros.get(0);
+        carroQueJaEstaSalvo.setId(id);
+        Carro carroAtualizado = new Carro("Bmw", "X6", "mgu0002", 2023, "SUV", "Gasolina", 400.0);
+
+        when(carroRepository.findById(id)).thenReturn(Optional.of(carroQueJaEstaSalvo));
+        when(carroRepository.existsByPlacaAndIdNot("MGU-0002", id)).thenReturn(false);
+
+        implCarroService.updateEntidade(carroAtualizado, id);
+
+        assertEquals(id, carroAtualizado.getId());
+        verify(carroRepository).existsByPlacaAndIdNot("MGU-0002", id);
+        verify(carroRepository).save(carroAtualizado);
+        verify(carroRepository, never()).findAll();
+    }
+
+    @Test
+    void testAtualizaCarroComPlacaDeOutroVeiculoDeveLancarExcecaoSemBuscarTodosOsCarros() {
+        long id = 5;
+        Carro carroQueJaEstaSalvo = listaCarros.get(0);
+        carroQueJaEstaSalvo.setId(id);
+        Carro carroAtualizado = new Carro("Vw", "Amarok", "MGU0003", 2022, "Caminhonete", "Diesel", 350.45);
+
+        when(carroRepository.findById(id)).thenReturn(Optional.of(carroQueJaEstaSalvo));
+        when(carroRepository.existsByPlacaAndIdNot("MGU-0003", id)).thenReturn(true);
+
+        assertThrows(AtributoDuplicadoException.class, () -> implCarroService.updateEntidade(carroAtualizado, id));
+
+        verify(carroRepository, never()).save(any());
+        verify(carroRepository, never()).findAll();
+    }
+
+    @Test
+    void testBuscaCarrosDisponiveisFiltraNoBanco() {
+        when(carroRepository.findByDisponivelTrue()).thenReturn(listaCarros);
+
+        List<Carro> carrosDisponiveis = implCarroService.disponivel();
+
+        assertEquals(listaCarros, carrosDisponiveis);
+        verify(carroRepository).findByDisponivelTrue();
+        verifyNoMoreInteractions(carroRepository);
+    }
+
+    @Test
+    void testBuscaCarrosPelaCategoriaComparaCategoriaEmMaiusculo() {
+        List<Carro> carrosSedan = List.of(listaCarros.get(1));
+
+        when(carroRepository.findByCategoria("SEDAN")).thenReturn(carrosSedan);
+
+        List<Carro> carrosObtidosPelaCategoria = implCarroService.listCategoria("Sedan");
+
+        assertEquals(carrosSedan, carrosObtidosPelaCategoria);
+        verify(carroRepository).findByCategoria("SEDAN");
+        verifyNoMoreInteractions(carroRepository);
+    }
+
+    @Test
+    void testListaPaginadaBuscaUmRegistroAMaisParaGerarOProximoCursor() {
+        for (long id = 1; id <= listaCarros.size(); id++) {
+            listaCarros.get((int) id - 1).setId(id);
+        }
+
+        when(carroRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3))).thenReturn(listaCarros);
+
+        Pagina<Carro> pagina = implCarroService.listaEntidades(null, 2);
+
+        assertEquals(listaCarros.subList(0, 2), pagina.conteudo());
+        assertEquals(Cursor.codifica(2L), pagina.proximoCursor());
+        assertEquals(2L, Cursor.decodifica(pagina.proximoCursor()));
+        verify(carroRepository, never()).findAll();
+    }
+
+    @Test
+    void testUltimaPaginaNaoPossuiProximoCursor() {
+        when(carroRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 3))).thenReturn(List.of(listaCarros.get(2)));
+
+        Pagina<Carro> pagina = implCarroService.listaEntidades(Cursor.codifica(2L), 2);
+
+        assertEquals(List.of(listaCarros.get(2)), pagina.conteudo());
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    void testCursorInvalidoDeveLancarExcecao() {
+        assertThrows(AtributoInvalidoException.class, () -> implCarroService.listaEntidades("nao-e-um-cursor", 2));
+
+        verifyNoInteractions(carroRepository);
+    }
+
+    @Test
+    void testExportaCarrosDesanexandoCadaRegistroEFechandoOStream() {
+        AtomicBoolean streamFechado = new AtomicBoolean(false);
+        List<Carro> carrosExportados = new ArrayList<>();
+
+        when(carroRepository.streamTodos()).thenReturn(listaCarros.stream().onClose(() -> streamFechado.set(true)));
+
+        implCarroService.exportaEntidades(carrosExportados::add);
+
+        assertEquals(listaCarros, carrosExportados);
+        listaCarros.forEach(carro -> verify(entityManager).detach(carro));
+        assertTrue(streamFechado.get());
+        verify(carroRepository, never()).findAll();
+    }
+
+    @Test
+    void testImportacaoEmLoteRetornaOResultadoDeCadaLinhaSemInterromperNaPrimeiraDuplicidade() {
+        ImportacaoConfig importacaoConfig = new ImportacaoConfig();
+        importacaoConfig.setTamanhoLote(2);
+        ImplCarroService servicoDeImportacao = new ImplCarroService(carroRepository, locacaoRepository, entityManager,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), importacaoConfig, indiceDisponibilidade, indiceReservas);
+
+        List<Carro> carros = List.of(
+                new Carro("Fiat", "Uno", "abc1234", 2010, "Hatch", "Flex", 90.0),
+                new Carro("Fiat", "Toro", "XYZ9A99", 2021, "Picape", "Diesel", 280.0),
+                new Carro("Fiat", "Palio", "ABC-1234", 2012, "Hatch", "Flex", 95.0),
+                new Carro("Fiat", "Mobi", "12345", 2020, "Hatch", "Flex", 100.0),
+                new Carro("", "Argo", "QWE1R23", 2022, "Hatch", "Flex", 150.0));
+
+        when(carroRepository.buscaPlacasCadastradas(List.of("ABC-1234", "XYZ9A99"))).thenReturn(List.of("XYZ9A99"));
+
+        RelatorioImportacao relatorio = servicoDeImportacao.importaEntidades(carros);
+
+        assertEquals(5, relatorio.total());
+        assertEquals(1, relatorio.criados());
+        assertEquals(4, relatorio.rejeitados());
+        assertEquals(List.of(StatusImportacao.CRIADO, StatusImportacao.PLACA_DUPLICADA, StatusImportacao.PLACA_DUPLICADA,
+                        StatusImportacao.PLACA_INVALIDA, StatusImportacao.INVALIDO),
+                relatorio.resultados().stream().map(resultado -> resultado.status()).toList());
+        verify(carroRepository, times(1)).saveAllAndFlush(any());
+        verify(entityManager).clear();
+        verify(indiceDisponibilidade).atualizaTodos(any());
+    }
+
+    @Test
+    void testDeletaCarroInexistenteSemCarregarAEntidade() {
+        when(carroRepository.deletaPorId(99L)).thenReturn(0);
+
+        assertThrows(RecursoNaoEncontradoException.class, () -> implCarroService.deletaEntidade(99L));
+
+        verify(carroRepository, never()).findById(99L);
+    }
+
+    @Test
+    void testDeletaCarroComLocacoesLancaConflitoSemApagar() {
+        when(locacaoRepository.existsByCarroId(2L)).thenReturn(true);
+
+        assertThrows(RecursoEmUsoException.class, () -> implCarroService.deletaEntidade(2L));
+
+        verify(carroRepository, never()).deletaPorId(2L);
+        verify(indiceDisponibilidade, never()).remove(2L);
+    }
+
+    @Test
+    void testCarrosDisponiveisSaoRespondidosPeloIndiceSemConsultarOBanco() {
+        when(indiceDisponibilidade.disponiveis()).thenReturn(Optional.of(listaCarros));
+
+        assertEquals(listaCarros, implCarroService.disponivel());
+
+        verifyNoInteractions(carroRepository);
+    }
+
+    @Test
+    void testContagemDisponiveisUsaOBancoEnquantoOIndiceNaoFoiCarregado() {
+        List<Carro> disponiveis = List.of(
+                new Carro(1L, "GM", "ONIX", "AAA-0002", 2020, "HATCH", "FLEX", 120.0, true),
+                new Carro(2L, "VW", "GOL", "AAA-0003", 2018, "HATCH", "FLEX", 110.0, true),
+                new Carro(3L, "VW", "AMAROK", "AAA-0004", 2022, "CAMINHONETE", "DIESEL", 350.0, true));
+        when(carroRepository.findByDisponivelTrue()).thenReturn(disponiveis);
+
+        Map<String, Map<String, Long>> contagem = implCarroService.contagemDisponiveis();
+
+        assertEquals(Map.of("CAMINHONETE", Map.of("DIESEL", 1L), "HATCH", Map.of("FLEX", 2L)), contagem);
+    }
+
+    @Test
+    void testBuscaPorPeriodoUsaOsIndicesQuandoCarregados() {
+        LocalDate dataInicio = LocalDate.parse("2030-01-10");
+        LocalDate dataFim = LocalDate.parse("2030-01-15");
+        Carro livre = new Carro(1L, "BMW", "X5", "MGU-0002", 2022, "SUV", "GASOLINA", 350.45, true);
+        Carro foraDeOperacao = new Carro(2L, "VW", "TIGUAN", "MGU-0004", 2022, "SUV", "GASOLINA", 300.0, false);
+
+        when(indiceDisponibilidade.daCategoria("SUV")).thenReturn(Optional.of(List.of(livre, foraDeOperacao)));
+        when(indiceReservas.filtraLivres(List.of(livre), dataInicio, dataFim)).thenReturn(Optional.of(List.of(livre)));
+
+        assertEquals(List.of(livre), implCarroService.disponiveisNoPeriodo("suv", dataInicio, dataFim));
+
+        verifyNoInteractions(carroRepository);
+    }
+
+    @Test
+    void testBuscaPorPeriodoConsultaOBancoQuandoOIndiceNaoCobreOPeriodo() {
+        LocalDate dataInicio = LocalDate.parse("2030-01-10");
+        LocalDate dataFim = LocalDate.parse("2030-01-15");
+
+        when(indiceDisponibilidade.daCategoria("SUV")).thenReturn(Optional.of(List.of()));
+        when(indiceReservas.filtraLivres(List.of(), dataInicio, dataFim)).thenReturn(Optional.empty());
+        when(carroRepository.buscaLivresNoPeriodo("SUV", dataInicio, dataFim)).thenReturn(listaCarros);
+
+        assertEquals(listaCarros, implCarroService.disponiveisNoPeriodo("suv", dataInicio, dataFim));
+    }
+
+    @Test
+    void testBuscaPorPeriodoComDevolucaoAntesDoInicioDeveLancarExcecao() {
+        assertThrows(AtributoInvalidoException.class, () -> implCarroService.disponiveisNoPeriodo("SUV",
+                LocalDate.parse("2030-01-15"), LocalDate.parse("2030-01-10")));
+    }
+
 }
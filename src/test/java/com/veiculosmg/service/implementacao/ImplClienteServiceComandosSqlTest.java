@@ -0,0 +1,89 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.exception.AtributoDuplicadoException;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.repository.ClienteRepository;
+import com.veiculosmg.suporte.sql.ComandosSql;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// A verificação de cpf, telefone e e-mail duplicados é um único select filtrado pelos índices únicos; a exportação
+// sem endereço não passa pela tabela endereco.
+@SpringBootTest
+public class ImplClienteServiceComandosSqlTest {
+
+    @Autowired
+    private ImplClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private final List<Cliente> clientes = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        clientes.forEach(cliente -> clienteRepository.deleteById(cliente.getId()));
+    }
+
+    @Test
+    void testSalvaNovoClienteComEnderecoSemLerATabela() throws Exception {
+        Endereco endereco = new Endereco("38402200", "Rua Comandos", "", "Brasil", "Uberlandia", "MG");
+        Cliente cliente = new Cliente("Karina Silva", "41368104070", "10911112220", "comandos01@gmail.com", LocalDate.parse("2002-06-06"), endereco);
+
+        // Verificação dos duplicados, dois inserts e, no máximo, um bloco novo de cada sequência.
+        ComandosSql.durante(() -> clientes.add(clienteService.salvaNovaEntidade(cliente)))
+                .noMaximo(5)
+                .semSelectIlimitado();
+    }
+
+    @Test
+    void testAtualizaClienteSemLerATabela() throws Exception {
+        Cliente cliente = clienteRepository.save(new Cliente("Hugo Borges", "33255435021", "20911112221", "comandos02@gmail.com", LocalDate.parse("1990-06-06")));
+        clientes.add(cliente);
+        Cliente clienteAtualizado = new Cliente("Hugo Borges Silva", "33255435021", "20911112221", "comandos02@gmail.com", LocalDate.parse("1990-06-06"));
+
+        ComandosSql.durante(() -> clienteService.updateEntidade(clienteAtualizado, cliente.getId()))
+                .noMaximo(2)
+                .semSelectIlimitado();
+    }
+
+    @Test
+    void testEmailJaCadastradoComOutrasMaiusculasEDuplicado() {
+        clientes.add(clienteRepository.save(new Cliente("Ana Souza", "11144477735", "30911112222", "comandos04@gmail.com", LocalDate.parse("1995-06-06"))));
+        Cliente cliente = new Cliente("Hugo Borges", "33255435021", "20911112221", "Comandos04@Gmail.com", LocalDate.parse("1990-06-06"));
+
+        AtributoDuplicadoException ex = assertThrows(AtributoDuplicadoException.class, () -> clienteService.salvaNovaEntidade(cliente));
+
+        assertEquals("Os seguintes atributos já estão vinculados a outro cliente: [Email]", ex.getMessage());
+    }
+
+    @Test
+    void testExportaClientesSemEnderecoNumUnicoSelectDaTabelaCliente() throws Exception {
+        Endereco endereco = new Endereco("38402200", "Rua Comandos", "", "Brasil", "Uberlandia", "MG");
+        Cliente cliente = clienteRepository.save(new Cliente("Ana Souza", "11144477735", "30911112222", "comandos03@gmail.com", LocalDate.parse("1995-06-06"), endereco));
+        clientes.add(cliente);
+        List<Cliente> exportados = new ArrayList<>();
+
+        String sql = ComandosSql.durante(() -> clienteService.exportaEntidades(false, exportados::add))
+                .exatamente(1)
+                .sql().get(0);
+
+        assertFalse(sql.contains("endereco"), sql);
+        Cliente exportado = exportados.stream().filter(c -> c.getId().equals(cliente.getId())).findFirst().orElseThrow();
+        assertEquals("11144477735", exportado.getCpf());
+        assertNull(exportado.getEndereco());
+    }
+
+}
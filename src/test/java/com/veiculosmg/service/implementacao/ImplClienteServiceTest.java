@@ -2,10 +2,16 @@ package com.veiculosmg.service.implementacao;
 
 import com.veiculosmg.exception.AtributoDuplicadoException;
 import com.veiculosmg.exception.MenorDeIdadeException;
+import com.veiculosmg.exception.RecursoEmUsoException;
 import com.veiculosmg.exception.RecursoNaoEncontradoException;
 import com.veiculosmg.model.entity.Cliente;
 import com.veiculosmg.model.entity.Endereco;
+import com.veiculosmg.model.projecao.AtributosUnicosCliente;
+import com.veiculosmg.model.repository.ClienteRepository;
+import com.veiculosmg.model.repository.EnderecoRepository;
+import com.veiculosmg.model.repository.LocacaoRepository;
 import com.veiculosmg.service.ClienteService;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +26,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -32,6 +39,18 @@ public class ImplClienteServiceTest {
     @Mock
     private ClienteService clienteServiceMock;
 
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private EnderecoRepository enderecoRepository;
+
+    @Mock
+    private LocacaoRepository locacaoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
     private List<Cliente> listaClientes;
 
     @BeforeEach
@@ -184,5 +203,111 @@ public class ImplClienteServiceTest {
         verifyNoMoreInteractions(clienteServiceMock);
     }
 
+    @Test
+    void testSalvaNovoClienteVerificaDuplicidadeComUmaUnicaConsulta() {
+        Cliente novoCliente = listaClientes.get(0);
+
+        when(clienteRepository.buscaAtributosUnicosEmUso("41368104070", "10911112220", "teste01@gmail.com", null))
+                .thenReturn(List.of());
+
+        implClienteService.salvaNovaEntidade(novoCliente);
+
+        verify(clienteRepository).buscaAtributosUnicosEmUso("41368104070", "10911112220", "teste01@gmail.com", null);
+        verify(clienteRepository).save(novoCliente);
+        verifyNoMoreInteractions(clienteRepository);
+    }
+
+    @Test
+    void testSalvaNovoClienteComCpfEEmailDuplicadosInformaOsAtributosSemSalvar() {
+        Cliente novoCliente = listaClientes.get(0);
+
+        when(clienteRepository.buscaAtributosUnicosEmUso("41368104070", "10911112220", "teste01@gmail.com", null))
+                .thenReturn(List.of(
+                        atributosEmUso("41368104070", "99911112220", "outro@gmail.com"),
+                        atributosEmUso("33255435021", "20911112221", "TESTE01@gmail.com")));
+
+        AtributoDuplicadoException ex = assertThrows(AtributoDuplicadoException.class,
+                () -> implClienteService.salvaNovaEntidade(novoCliente));
+
+        assertEquals("Os seguintes atributos já estão vinculados a outro cliente: [CPF, Email]", ex.getMessage());
+        verify(clienteRepository, never()).save(any());
+        verify(clienteRepository, never()).findAll();
+    }
+
+    @Test
+    void testAtualizaClienteIgnoraOProprioCadastroNaVerificacaoDeDuplicidade() {
+        long id = 1;
+        Cliente clienteQueJaEstaSalvo = listaClientes.get(0);
+        clienteQueJaEstaSalvo.setId(id);
+        Cliente clienteAtualizado = new Cliente("Karina Souza", "41368104070", "10911112220", "teste01@gmail.com", LocalDate.parse("2002-06-06"));
+
+        when(clienteRepository.findById(id)).thenReturn(Optional.of(clienteQueJaEstaSalvo));
+        when(clienteRepository.buscaAtributosUnicosEmUso("41368104070", "10911112220", "teste01@gmail.com", id))
+                .thenReturn(List.of());
+
+        implClienteService.updateEntidade(clienteAtualizado, id);
+
+        verify(clienteRepository).buscaAtributosUnicosEmUso("41368104070", "10911112220", "teste01@gmail.com", id);
+        verify(clienteRepository).save(clienteAtualizado);
+        verify(clienteRepository, never()).findAll();
+    }
+
+    @Test
+    void testDeletaClienteComLocacoesLancaConflitoSemApagar() {
+        long id = 1;
+        Cliente clienteQueJaEstaSalvo = listaClientes.get(0);
+        clienteQueJaEstaSalvo.setId(id);
+
+        when(clienteRepository.findById(id)).thenReturn(Optional.of(clienteQueJaEstaSalvo));
+        when(locacaoRepository.existsByClienteId(id)).thenReturn(true);
+
+        assertThrows(RecursoEmUsoException.class, () -> implClienteService.deletaEntidade(id));
+
+        verify(clienteRepository, never()).delete(any());
+    }
+
+    @Test
+    void testExportaClientesSemEnderecoNaoBuscaOEndereco() {
+        List<Cliente> clientesExportados = new ArrayList<>();
+
+        when(clienteRepository.streamTodosSemEndereco()).thenReturn(listaClientes.stream());
+
+        implClienteService.exportaEntidades(false, clientesExportados::add);
+
+        assertEquals(listaClientes, clientesExportados);
+        verify(clienteRepository, never()).streamTodosComEndereco();
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void testExportaClientesComEnderecoDesanexandoCadaRegistro() {
+        List<Cliente> clientesExportados = new ArrayList<>();
+
+        when(clienteRepository.streamTodosComEndereco()).thenReturn(listaClientes.stream());
+
+        implClienteService.exportaEntidades(true, clientesExportados::add);
+
+        assertEquals(listaClientes, clientesExportados);
+        listaClientes.forEach(cliente -> verify(entityManager).detach(cliente));
+    }
+
+    private AtributosUnicosCliente atributosEmUso(String cpf, String numeroTelefone, String email) {
+        return new AtributosUnicosCliente() {
+            @Override
+            public String getCpf() {
+                return cpf;
+            }
+
+            @Override
+            public String getNumeroTelefone() {
+                return numeroTelefone;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
 
 }
@@ -0,0 +1,118 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.exception.ReservaIndisponivelException;
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.locacao.LocacaoDoCarro;
+import com.veiculosmg.model.locacao.SolicitacaoLocacao;
+import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.model.repository.ClienteRepository;
+import com.veiculosmg.model.repository.LocacaoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class ImplLocacaoServiceConcorrenciaTest {
+
+    private static final int RESERVAS = 3000;
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ImplLocacaoService locacaoService;
+
+    @Autowired
+    private LocacaoRepository locacaoRepository;
+
+    @Autowired
+    private CarroRepository carroRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private final List<Carro> frota = new ArrayList<>();
+
+    private Cliente cliente;
+
+    @AfterEach
+    public void tearDown() {
+        frota.forEach(carro -> locacaoRepository.deleteAll(locacaoRepository.findByCarroIdOrderByDataInicioAsc(carro.getId())));
+        carroRepository.deleteAll(frota);
+        if (cliente != null) {
+            clienteRepository.delete(cliente);
+        }
+    }
+
+    @Test
+    void testReservasParalelasNuncaSobrepoemPeriodosDoMesmoCarro() throws Exception {
+        frota.add(carroRepository.save(new Carro("GM", "ONIX", "CON0C01", 2020, "HATCH", "FLEX", 120.0)));
+        frota.add(carroRepository.save(new Carro("VW", "GOL", "CON0C02", 2018, "HATCH", "FLEX", 110.0)));
+        frota.add(carroRepository.save(new Carro("FIAT", "TORO", "CON0C03", 2021, "PICAPE", "DIESEL", 280.0)));
+        cliente = clienteRepository.save(new Cliente("Hugo Borges", "33255435021", "20911112221", "concorrencia@gmail.com", LocalDate.parse("1990-06-06")));
+
+        LocalDate inicioDaJanela = LocalDate.parse("2030-01-01");
+        Random aleatorio = new Random(42);
+        List<Callable<Boolean>> reservas = new ArrayList<>();
+        for (int i = 0; i < RESERVAS; i++) {
+            Carro carro = frota.get(aleatorio.nextInt(frota.size()));
+            LocalDate dataInicio = inicioDaJanela.plusDays(aleatorio.nextInt(120));
+            LocalDate dataFim = dataInicio.plusDays(1 + aleatorio.nextInt(5));
+            SolicitacaoLocacao solicitacao = new SolicitacaoLocacao(cliente.getId(), carro.getId(), dataInicio, dataFim);
+
+            reservas.add(() -> {
+                try {
+                    locacaoService.reserva(solicitacao);
+                    return true;
+                } catch (ReservaIndisponivelException ex) {
+                    return false;
+                }
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger reservasConfirmadas = new AtomicInteger();
+        try {
+            for (Future<Boolean> resultado : executor.invokeAll(reservas)) {
+                if (resultado.get()) {
+                    reservasConfirmadas.incrementAndGet();
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        int locacoesSalvas = 0;
+        for (Carro carro : frota) {
+            List<LocacaoDoCarro> locacoes = locacaoRepository.buscaLocacoesDoCarro(carro.getId());
+            locacoesSalvas += locacoes.size();
+
+            for (int i = 1; i < locacoes.size(); i++) {
+                LocacaoDoCarro anterior = locacoes.get(i - 1);
+                LocacaoDoCarro atual = locacoes.get(i);
+                assertTrue(!anterior.dataFim().isAfter(atual.dataInicio()),
+                        "Locações sobrepostas no carro " + carro.getId() + ": " + anterior.id() + " e " + atual.id());
+            }
+        }
+
+        assertEquals(reservasConfirmadas.get(), locacoesSalvas);
+        assertTrue(locacoesSalvas > 0);
+    }
+
+}
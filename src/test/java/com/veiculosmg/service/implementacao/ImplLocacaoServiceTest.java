@@ -0,0 +1,169 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.configuration.LocacaoConfig;
+import com.veiculosmg.exception.AtributoInvalidoException;
+import com.veiculosmg.exception.RecursoNaoEncontradoException;
+import com.veiculosmg.exception.ReservaIndisponivelException;
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.entity.Cliente;
+import com.veiculosmg.model.entity.Locacao;
+import com.veiculosmg.model.locacao.PeriodoReservado;
+import com.veiculosmg.model.locacao.SolicitacaoLocacao;
+import com.veiculosmg.model.repository.CarroRepository;
+import com.veiculosmg.model.repository.ClienteRepository;
+import com.veiculosmg.model.repository.LocacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ImplLocacaoServiceTest {
+
+    @Mock
+    private LocacaoRepository locacaoRepository;
+
+    @Mock
+    private CarroRepository carroRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private IndiceReservasCarros indiceReservas;
+
+    private ImplLocacaoService implLocacaoService;
+
+    private Carro carro;
+
+    private Cliente cliente;
+
+    @BeforeEach
+    public void setUp() {
+        implLocacaoService = new ImplLocacaoService(locacaoRepository, carroRepository, clienteRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new LocacaoConfig(), indiceReservas);
+
+        carro = new Carro(1L, "GM", "VECTRA", "RGD0J07", 2003, "SEDAN", "GASOLINA", 250.5, true);
+        cliente = new Cliente("Karina Silva", "41368104070", "10911112220", "teste01@gmail.com", LocalDate.parse("2002-06-06"));
+        cliente.setId(10L);
+    }
+
+    @Test
+    void testReservaCalculaOValorPelaQuantidadeDeDiarias() {
+        SolicitacaoLocacao solicitacao = new SolicitacaoLocacao(10L, 1L, LocalDate.parse("2026-01-10"), LocalDate.parse("2026-01-13"));
+
+        when(carroRepository.buscaParaReserva(1L)).thenReturn(Optional.of(carro));
+        when(clienteRepository.findById(10L)).thenReturn(Optional.of(cliente));
+        when(locacaoRepository.existeLocacaoNoPeriodo(1L, solicitacao.dataInicio(), solicitacao.dataFim())).thenReturn(false);
+        when(locacaoRepository.save(any(Locacao.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        Locacao locacao = implLocacaoService.reserva(solicitacao);
+
+        assertEquals(new BigDecimal("751.50"), locacao.getValorTotal());
+        assertEquals(carro, locacao.getCarro());
+        assertEquals(cliente, locacao.getCliente());
+        verify(indiceReservas).adiciona(new PeriodoReservado(1L, solicitacao.dataInicio(), solicitacao.dataFim()));
+    }
+
+    @Test
+    void testReservaComPeriodoSobrepostoDeveLancarExcecao() {
+        SolicitacaoLocacao solicitacao = new SolicitacaoLocacao(10L, 1L, LocalDate.parse("2026-01-10"), LocalDate.parse("2026-01-13"));
+
+        when(carroRepository.buscaParaReserva(1L)).thenReturn(Optional.of(carro));
+        when(clienteRepository.findById(10L)).thenReturn(Optional.of(cliente));
+        when(locacaoRepository.existeLocacaoNoPeriodo(1L, solicitacao.dataInicio(), solicitacao.dataFim())).thenReturn(true);
+
+        assertThrows(ReservaIndisponivelException.class, () -> implLocacaoService.reserva(solicitacao));
+
+        verify(locacaoRepository, never()).save(any());
+        verifyNoInteractions(indiceReservas);
+    }
+
+    @Test
+    void testReservaDeCarroIndisponivelDeveLancarExcecao() {
+        SolicitacaoLocacao solicitacao = new SolicitacaoLocacao(10L, 1L, LocalDate.parse("2026-01-10"), LocalDate.parse("2026-01-13"));
+        carro.setDisponivel(false);
+
+        when(carroRepository.buscaParaReserva(1L)).thenReturn(Optional.of(carro));
+
+        assertThrows(ReservaIndisponivelException.class, () -> implLocacaoService.reserva(solicitacao));
+
+        verify(locacaoRepository, never()).save(any());
+        verifyNoInteractions(indiceReservas);
+    }
+
+    @Test
+    void testReservaComDataDeDevolucaoAntesDoInicioDeveLancarExcecao() {
+        SolicitacaoLocacao solicitacao = new SolicitacaoLocacao(10L, 1L, LocalDate.parse("2026-01-10"), LocalDate.parse("2026-01-10"));
+
+        assertThrows(AtributoInvalidoException.class, () -> implLocacaoService.reserva(solicitacao));
+
+        verifyNoInteractions(carroRepository, locacaoRepository);
+    }
+
+    @Test
+    void testReservaDeCarroInexistenteDeveLancarExcecao() {
+        SolicitacaoLocacao solicitacao = new SolicitacaoLocacao(10L, 99L, LocalDate.parse("2026-01-10"), LocalDate.parse("2026-01-11"));
+
+        when(carroRepository.buscaParaReserva(99L)).thenReturn(Optional.empty());
+
+        assertThrows(RecursoNaoEncontradoException.class, () -> implLocacaoService.reserva(solicitacao));
+    }
+
+    @Test
+    void testReservaComALinhaDoCarroTravadaEmOutraInstanciaRetornaConflito() {
+        SolicitacaoLocacao solicitacao = new SolicitacaoLocacao(10L, 1L, LocalDate.parse("2026-01-10"), LocalDate.parse("2026-01-11"));
+
+        when(carroRepository.buscaParaReserva(1L)).thenThrow(new PessimisticLockingFailureException("NOWAIT"));
+
+        assertThrows(ReservaIndisponivelException.class, () -> implLocacaoService.reserva(solicitacao));
+
+        verify(locacaoRepository, never()).save(any());
+    }
+
+    @Test
+    void testReservaRetornaConflitoQuandoOCarroJaEstaSendoReservado() throws Exception {
+        LocacaoConfig locacaoConfig = new LocacaoConfig();
+        locacaoConfig.setEsperaPorLock(Duration.ofMillis(10));
+        ImplLocacaoService servico = new ImplLocacaoService(locacaoRepository, carroRepository, clienteRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), locacaoConfig, indiceReservas);
+
+        CountDownLatch reservaEmAndamento = new CountDownLatch(1);
+        CountDownLatch liberaReserva = new CountDownLatch(1);
+        when(carroRepository.buscaParaReserva(1L)).thenAnswer(invocacao -> {
+            reservaEmAndamento.countDown();
+            liberaReserva.await();
+            return Optional.of(carro);
+        });
+        when(clienteRepository.findById(10L)).thenReturn(Optional.of(cliente));
+        when(locacaoRepository.save(any(Locacao.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        SolicitacaoLocacao primeira = new SolicitacaoLocacao(10L, 1L, LocalDate.parse("2026-01-10"), LocalDate.parse("2026-01-11"));
+        SolicitacaoLocacao segunda = new SolicitacaoLocacao(10L, 1L, LocalDate.parse("2026-02-10"), LocalDate.parse("2026-02-11"));
+
+        CompletableFuture<Locacao> reserva = CompletableFuture.supplyAsync(() -> servico.reserva(primeira));
+        reservaEmAndamento.await();
+
+        assertThrows(ReservaIndisponivelException.class, () -> servico.reserva(segunda));
+
+        liberaReserva.countDown();
+        assertEquals(primeira.dataInicio(), reserva.get().getDataInicio());
+    }
+
+}
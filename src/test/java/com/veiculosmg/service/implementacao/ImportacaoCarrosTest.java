@@ -0,0 +1,61 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.importacao.RelatorioImportacao;
+import com.veiculosmg.model.importacao.ResultadoImportacao;
+import com.veiculosmg.model.importacao.StatusImportacao;
+import com.veiculosmg.model.repository.CarroRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+// Importação contra o H2 de verdade: a unique da placa só dispara no banco, e é ela que leva o lote para o
+// cadastro carro a carro.
+@SpringBootTest
+public class ImportacaoCarrosTest {
+
+    @Autowired
+    private ImplCarroService carroService;
+
+    @SpyBean
+    private CarroRepository carroRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        ids.forEach(carroRepository::deletaPorId);
+    }
+
+    @Test
+    void testPlacaCadastradaDepoisDaVerificacaoDoLoteRejeitaSoALinhaDuplicada() {
+        ids.add(carroRepository.save(new Carro("FIAT", "UNO", "IMP1A11", 2015, "HATCH", "FLEX", 100.0)).getId());
+
+        // Simula outro processo gravando a placa entre a verificação do lote e o insert.
+        doReturn(List.of()).when(carroRepository).buscaPlacasCadastradas(any());
+
+        RelatorioImportacao relatorio = carroService.importaEntidades(List.of(
+                new Carro("VW", "Gol", "IMP2B22", 2016, "Hatch", "Flex", 90.0),
+                new Carro("Fiat", "Uno", "IMP1A11", 2015, "Hatch", "Flex", 100.0),
+                new Carro("VW", "Polo", "IMP3C33", 2020, "Hatch", "Flex", 120.0)));
+        relatorio.resultados().stream().map(ResultadoImportacao::id).filter(Objects::nonNull).forEach(ids::add);
+
+        assertEquals(List.of(StatusImportacao.CRIADO, StatusImportacao.PLACA_DUPLICADA, StatusImportacao.CRIADO),
+                relatorio.resultados().stream().map(ResultadoImportacao::status).toList());
+        assertEquals(3, ids.size());
+        assertTrue(carroRepository.existsByPlaca("IMP2B22"));
+        assertTrue(carroRepository.existsByPlaca("IMP3C33"));
+    }
+
+}
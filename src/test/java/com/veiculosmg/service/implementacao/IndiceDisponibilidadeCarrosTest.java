@@ -0,0 +1,135 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.repository.CarroRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IndiceDisponibilidadeCarrosTest {
+
+    @InjectMocks
+    private IndiceDisponibilidadeCarros indice;
+
+    @Mock
+    private CarroRepository carroRepository;
+
+    @Test
+    void testIndiceVazioAteAPrimeiraReconciliacao() {
+        assertTrue(indice.disponiveis().isEmpty());
+        assertTrue(indice.daCategoria("SUV").isEmpty());
+        assertTrue(indice.contagemDisponiveis().isEmpty());
+    }
+
+    @Test
+    void testReconciliacaoCarregaDisponiveisCategoriasEContagem() {
+        when(carroRepository.buscaPaginaParaIndice(eq(0L), any())).thenReturn(List.of(
+                new Carro(1L, "GM", "ONIX", "AAA-0001", 2020, "HATCH", "FLEX", 120.0, true),
+                new Carro(2L, "VW", "GOL", "AAA-0002", 2018, "HATCH", "FLEX", 110.0, false),
+                new Carro(3L, "VW", "AMAROK", "AAA-0003", 2022, "CAMINHONETE", "DIESEL", 350.0, true)));
+
+        indice.reconcilia();
+
+        assertEquals(List.of(1L, 3L), indice.disponiveis().orElseThrow().stream().map(Carro::getId).toList());
+        assertEquals(List.of(1L, 2L), indice.daCategoria("hatch").orElseThrow().stream().map(Carro::getId).toList());
+        assertEquals(Map.of("CAMINHONETE", Map.of("DIESEL", 1L), "HATCH", Map.of("FLEX", 1L)), indice.contagemDisponiveis().orElseThrow());
+    }
+
+    @Test
+    void testEscritasDoServicoAtualizamOIndice() {
+        when(carroRepository.buscaPaginaParaIndice(eq(0L), any())).thenReturn(List.of());
+        indice.reconcilia();
+
+        Carro carro = new Carro(7L, "FIAT", "TORO", "RGD0J07", 2021, "PICAPE", "DIESEL", 280.0, true);
+        indice.atualiza(carro);
+        assertEquals(Map.of("PICAPE", Map.of("DIESEL", 1L)), indice.contagemDisponiveis().orElseThrow());
+
+        // Alterar a entidade original não pode vazar para o índice antes do update ser salvo.
+        carro.setDisponivel(false);
+        assertEquals(1, indice.disponiveis().orElseThrow().size());
+
+        indice.atualiza(carro);
+        assertTrue(indice.disponiveis().orElseThrow().isEmpty());
+        assertEquals(1, indice.daCategoria("PICAPE").orElseThrow().size());
+
+        indice.remove(7L);
+        assertTrue(indice.daCategoria("PICAPE").orElseThrow().isEmpty());
+    }
+
+    @Test
+    void testEscritaRefazSoOBlocoDaCategoriaDoCarro() {
+        when(carroRepository.buscaPaginaParaIndice(eq(0L), any())).thenReturn(List.of(
+                new Carro(1L, "GM", "ONIX", "AAA-0001", 2020, "HATCH", "FLEX", 120.0, true),
+                new Carro(2L, "VW", "AMAROK", "AAA-0002", 2022, "CAMINHONETE", "DIESEL", 350.0, true)));
+        indice.reconcilia();
+        List<Carro> caminhonetes = indice.daCategoria("CAMINHONETE").orElseThrow();
+
+        indice.atualiza(new Carro(1L, "GM", "ONIX", "AAA-0001", 2020, "HATCH", "FLEX", 125.0, false));
+
+        assertSame(caminhonetes, indice.daCategoria("CAMINHONETE").orElseThrow());
+        assertEquals(List.of(2L), indice.disponiveis().orElseThrow().stream().map(Carro::getId).toList());
+        assertEquals(Map.of("CAMINHONETE", Map.of("DIESEL", 1L)), indice.contagemDisponiveis().orElseThrow());
+    }
+
+    @Test
+    void testCarroQueMudaDeCategoriaECombustivelSaiDoGrupoAnterior() {
+        when(carroRepository.buscaPaginaParaIndice(eq(0L), any())).thenReturn(List.of(
+                new Carro(1L, "GM", "ONIX", "AAA-0001", 2020, "HATCH", "FLEX", 120.0, true),
+                new Carro(2L, "VW", "GOL", "AAA-0002", 2018, "HATCH", "FLEX", 110.0, true)));
+        indice.reconcilia();
+
+        indice.atualiza(new Carro(2L, "VW", "GOL", "AAA-0002", 2018, "SEDAN", "GASOLINA", 110.0, true));
+
+        assertEquals(List.of(1L), indice.daCategoria("HATCH").orElseThrow().stream().map(Carro::getId).toList());
+        assertEquals(List.of(2L), indice.daCategoria("SEDAN").orElseThrow().stream().map(Carro::getId).toList());
+        assertEquals(List.of(1L, 2L), indice.disponiveis().orElseThrow().stream().map(Carro::getId).toList());
+        assertEquals(Map.of("HATCH", Map.of("FLEX", 1L), "SEDAN", Map.of("GASOLINA", 1L)), indice.contagemDisponiveis().orElseThrow());
+    }
+
+    @Test
+    void testReconciliacaoLeOBancoEmPaginasPorId() {
+        List<Carro> primeiraPagina = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            primeiraPagina.add(new Carro(id, "GM", "ONIX", "AAA-0001", 2020, "HATCH", "FLEX", 120.0, true));
+        }
+        when(carroRepository.buscaPaginaParaIndice(eq(0L), any())).thenReturn(primeiraPagina);
+        when(carroRepository.buscaPaginaParaIndice(eq(1000L), any())).thenReturn(List.of(
+                new Carro(1001L, "VW", "GOL", "AAA-0002", 2018, "HATCH", "FLEX", 110.0, true)));
+
+        indice.reconcilia();
+
+        assertEquals(1001, indice.disponiveis().orElseThrow().size());
+        verify(carroRepository, never()).findAll();
+    }
+
+    @Test
+    void testAlteracaoDuranteAReconciliacaoPrevaleceSobreOQueFoiLidoDoBanco() {
+        Carro removidoDuranteALeitura = new Carro(1L, "GM", "ONIX", "AAA-0001", 2020, "HATCH", "FLEX", 120.0, true);
+        when(carroRepository.buscaPaginaParaIndice(eq(0L), any())).thenAnswer(invocacao -> {
+            indice.remove(1L);
+            return new ArrayList<>(List.of(removidoDuranteALeitura));
+        });
+
+        indice.reconcilia();
+
+        assertEquals(Optional.of(List.of()), indice.disponiveis());
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.veiculosmg.service.implementacao;
+
+import com.veiculosmg.model.entity.Carro;
+import com.veiculosmg.model.locacao.PeriodoReservado;
+import com.veiculosmg.model.repository.LocacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IndiceReservasCarrosTest {
+
+    @InjectMocks
+    private IndiceReservasCarros indice;
+
+    @Mock
+    private LocacaoRepository locacaoRepository;
+
+    private final LocalDate hoje = LocalDate.now();
+
+    private Carro carro1;
+
+    private Carro carro2;
+
+    @BeforeEach
+    public void setUp() {
+        carro1 = new Carro(1L, "BMW", "X5", "MGU-0002", 2022, "SUV", "GASOLINA", 350.45, true);
+        carro2 = new Carro(2L, "VW", "TIGUAN", "MGU-0004", 2022, "SUV", "GASOLINA", 300.0, true);
+    }
+
+    @Test
+    void testSemCargaOIndiceNaoResponde() {
+        assertTrue(indice.filtraLivres(List.of(carro1), hoje, hoje.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void testFiltraCarrosComPeriodoSobreposto() {
+        when(locacaoRepository.streamPeriodosTerminandoApos(any())).thenReturn(Stream.of(
+                new PeriodoReservado(1L, hoje.plusDays(10), hoje.plusDays(15)),
+                new PeriodoReservado(1L, hoje.plusDays(2), hoje.plusDays(5)),
+                new PeriodoReservado(2L, hoje.plusDays(20), hoje.plusDays(22))));
+        indice.reconcilia();
+
+        assertEquals(List.of(carro2), livres(12, 13));
+        assertEquals(List.of(carro2), livres(4, 11));
+        // Período semiaberto: devolução no dia 5 libera o carro a partir do dia 5.
+        assertEquals(List.of(carro1, carro2), livres(5, 10));
+        assertEquals(List.of(carro1), livres(21, 30));
+        assertEquals(List.of(), livres(0, 30));
+    }
+
+    @Test
+    void testReservaECancelamentoAtualizamOIndice() {
+        when(locacaoRepository.streamPeriodosTerminandoApos(any())).thenReturn(Stream.empty());
+        indice.reconcilia();
+
+        PeriodoReservado periodo = new PeriodoReservado(1L, hoje.plusDays(3), hoje.plusDays(6));
+        indice.adiciona(periodo);
+        assertEquals(List.of(carro2), livres(5, 7));
+
+        indice.remove(periodo);
+        assertEquals(List.of(carro1, carro2), livres(5, 7));
+    }
+
+    @Test
+    void testPeriodoAntesDaJanelaCarregadaNaoERespondidoPeloIndice() {
+        when(locacaoRepository.streamPeriodosTerminandoApos(any())).thenReturn(Stream.empty());
+        indice.reconcilia();
+
+        assertTrue(indice.filtraLivres(List.of(carro1), hoje.minusDays(3), hoje.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void testReservaFeitaDuranteAReconciliacaoNaoSePerde() {
+        PeriodoReservado feitaDuranteALeitura = new PeriodoReservado(2L, hoje.plusDays(1), hoje.plusDays(3));
+        when(locacaoRepository.streamPeriodosTerminandoApos(any())).thenAnswer(invocacao -> {
+            indice.adiciona(feitaDuranteALeitura);
+            return Stream.empty();
+        });
+
+        indice.reconcilia();
+
+        assertEquals(List.of(carro1), livres(2, 4));
+    }
+
+    @Test
+    void testPeriodosDeUmCarroMantemOrdemEBuscaBinaria() {
+        IndiceReservasCarros.Periodos periodos = IndiceReservasCarros.Periodos.VAZIO
+                .com(30, 35).com(10, 12).com(20, 25).com(10, 12);
+
+        assertEquals(3, periodos.inicios().length);
+        assertTrue(periodos.sobrepoe(11, 13));
+        assertTrue(periodos.sobrepoe(0, 40));
+        assertTrue(!periodos.sobrepoe(12, 20));
+        assertTrue(!periodos.sobrepoe(25, 30));
+        assertTrue(!periodos.sem(20, 25).sobrepoe(21, 22));
+        assertEquals(null, IndiceReservasCarros.Periodos.VAZIO.com(1, 2).sem(1, 2));
+    }
+
+    /* Privado */
+
+    private List<Carro> livres(int diaInicio, int diaFim) {
+        return indice.filtraLivres(List.of(carro1, carro2), hoje.plusDays(diaInicio), hoje.plusDays(diaFim)).orElseThrow();
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.veiculosmg.suporte.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Comandos SQL executados por um trecho de teste, capturados pelo DataSourceContador que o
+// ContagemSqlContextCustomizerFactory coloca em todo contexto Spring dos testes. Só a thread que chamou durante()
+// é medida: as tarefas em segundo plano (reconciliação dos índices, por exemplo) não entram na contagem.
+//
+//     ComandosSql.durante(() -> carroService.updateEntidade(carro, id)).noMaximo(2).semSelectIlimitado();
+public final class ComandosSql {
+
+    private static final ThreadLocal<List<String>> GRAVACAO = new ThreadLocal<>();
+
+    // Só select que lê de uma tabela: "select next value for carro_seq" (sequência do id) não conta.
+    private static final Pattern SELECT = Pattern.compile("^\\s*(select|with)\\b.*\\bfrom\\b", Pattern.DOTALL);
+
+    // Filtro ou limite de linhas (limit no MySQL, fetch first no H2): sem nenhum deles o select lê a tabela toda.
+    private static final Pattern RESTRICAO = Pattern.compile("\\b(where|limit|fetch\\s+first|offset)\\b");
+
+    private final List<String> comandos;
+
+    private ComandosSql(List<String> comandos) {
+        this.comandos = List.copyOf(comandos);
+    }
+
+    @FunctionalInterface
+    public interface Trecho {
+        void executa() throws Exception;
+    }
+
+    public static ComandosSql durante(Trecho trecho) throws Exception {
+        Gravacao gravacao = grava();
+        try {
+            trecho.executa();
+            return gravacao.encerra();
+        } finally {
+            gravacao.encerra();
+        }
+    }
+
+    // Para medir o teste inteiro: grava() no @BeforeEach e encerra() no @AfterEach.
+    public static Gravacao grava() {
+        return new Gravacao(GRAVACAO.get());
+    }
+
+    public static final class Gravacao {
+
+        private final List<String> anterior;
+
+        private final List<String> comandos = new ArrayList<>();
+
+        private boolean encerrada;
+
+        private Gravacao(List<String> anterior) {
+            this.anterior = anterior;
+            GRAVACAO.set(comandos);
+        }
+
+        // Uma gravação aninhada também soma os seus comandos na de fora.
+        public ComandosSql encerra() {
+            if (!encerrada) {
+                encerrada = true;
+                if (anterior == null) {
+                    GRAVACAO.remove();
+                } else {
+                    anterior.addAll(comandos);
+                    GRAVACAO.set(anterior);
+                }
+            }
+            return new ComandosSql(comandos);
+        }
+
+    }
+
+    public int quantidade() {
+        return comandos.size();
+    }
+
+    public List<String> sql() {
+        return comandos;
+    }
+
+    public ComandosSql nenhum() {
+        return exatamente(0);
+    }
+
+    public ComandosSql exatamente(int quantidade) {
+        assertEquals(quantidade, comandos.size(), () -> "Quantidade de comandos SQL diferente da esperada:" + listagem(comandos));
+        return this;
+    }
+
+    public ComandosSql noMaximo(int limite) {
+        assertTrue(comandos.size() <= limite,
+                () -> "Esperados no máximo " + limite + " comandos SQL, executados " + comandos.size() + ":" + listagem(comandos));
+        return this;
+    }
+
+    public ComandosSql semSelectIlimitado() {
+        List<String> ilimitados = comandos.stream().filter(ComandosSql::selectIlimitado).toList();
+        assertTrue(ilimitados.isEmpty(), () -> "Select sem where nem limite de linhas:" + listagem(ilimitados));
+        return this;
+    }
+
+    /* Privado */
+
+    static void registra(String sql) {
+        List<String> comandos = GRAVACAO.get();
+        if (comandos != null) {
+            comandos.add(sql);
+        }
+    }
+
+    private static boolean selectIlimitado(String sql) {
+        String normalizado = sql.toLowerCase(Locale.ROOT);
+        return SELECT.matcher(normalizado).find() && !RESTRICAO.matcher(normalizado).find();
+    }
+
+    private static String listagem(List<String> comandos) {
+        return comandos.stream().map(sql -> "\n  " + sql).collect(Collectors.joining());
+    }
+
+}
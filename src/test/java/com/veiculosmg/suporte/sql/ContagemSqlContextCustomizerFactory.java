@@ -0,0 +1,49 @@
+package com.veiculosmg.suporte.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextConfigurationAttributes;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.ContextCustomizerFactory;
+import org.springframework.test.context.MergedContextConfiguration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Registrado em META-INF/spring.factories: todo contexto de teste recebe o DataSourceContador, sem @Import nas
+// classes de teste. O customizador é o mesmo para todas elas e não separa os contextos no cache do Spring.
+public class ContagemSqlContextCustomizerFactory implements ContextCustomizerFactory {
+
+    @Override
+    public ContextCustomizer createContextCustomizer(Class<?> testClass, List<ContextConfigurationAttributes> configAttributes) {
+        return new ContagemSqlContextCustomizer();
+    }
+
+    private static class ContagemSqlContextCustomizer implements ContextCustomizer {
+
+        @Override
+        public void customizeContext(ConfigurableApplicationContext context, MergedContextConfiguration mergedConfig) {
+            context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceContador)) {
+                        return new DataSourceContador(dataSource);
+                    }
+                    return bean;
+                }
+            });
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && obj.getClass() == getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+
+    }
+
+}
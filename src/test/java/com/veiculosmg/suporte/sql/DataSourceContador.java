@@ -0,0 +1,80 @@
+package com.veiculosmg.suporte.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Proxy JDBC dos testes: cada execute* de um Statement vira um registro em ComandosSql com o SQL do comando.
+// Um executeBatch conta como um comando (uma ida ao banco), com o SQL do PreparedStatement ou os do addBatch.
+public class DataSourceContador extends DelegatingDataSource {
+
+    public DataSourceContador(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexao(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conexao(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /* Privado */
+
+    private static Connection conexao(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object resultado = invoca(conexao, method, args);
+                    if (resultado instanceof Statement statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                        return comando(statement, sql);
+                    }
+                    return resultado;
+                });
+    }
+
+    private static Statement comando(Statement statement, String sqlPreparado) {
+        Class<?> tipo = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        List<String> lote = new ArrayList<>();
+
+        return (Statement) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, method, args) -> {
+            String nome = method.getName();
+            String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sqlPreparado;
+
+            if (nome.equals("addBatch") && sql != null && sqlPreparado == null) {
+                lote.add(sql);
+            } else if (nome.equals("clearBatch")) {
+                lote.clear();
+            } else if (nome.equals("executeBatch") || nome.equals("executeLargeBatch")) {
+                ComandosSql.registra(lote.isEmpty() ? sqlPreparado : String.join("; ", lote));
+                lote.clear();
+            } else if (nome.startsWith("execute")) {
+                ComandosSql.registra(sql);
+            }
+            return invoca(statement, method, args);
+        });
+    }
+
+    private static Object invoca(Object alvo, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(alvo, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+}
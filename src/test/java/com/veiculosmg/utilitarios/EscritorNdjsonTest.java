@@ -0,0 +1,42 @@
+package com.veiculosmg.utilitarios;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EscritorNdjsonTest {
+
+    @Test
+    void testEscreveUmaLinhaPorObjetoESoDaFlushNoClose() throws Exception {
+        SaidaContandoFlush saida = new SaidaContandoFlush();
+
+        try (EscritorNdjson escritor = new EscritorNdjson(new ObjectMapper(), saida)) {
+            for (int i = 1; i <= 100; i++) {
+                escritor.escreve(Map.of("id", i));
+            }
+            assertEquals(0, saida.flushes);
+        }
+
+        assertEquals(1, saida.flushes);
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(100, linhas.length);
+        assertEquals("{\"id\":100}", linhas[99]);
+    }
+
+    private static class SaidaContandoFlush extends ByteArrayOutputStream {
+
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+    }
+
+}
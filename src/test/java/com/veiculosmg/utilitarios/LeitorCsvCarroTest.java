@@ -0,0 +1,43 @@
+package com.veiculosmg.utilitarios;
+
+import com.veiculosmg.exception.AtributoInvalidoException;
+import com.veiculosmg.model.entity.Carro;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LeitorCsvCarroTest {
+
+    @Test
+    void testLeCsvComCabecalhoESeparadorVirgula() {
+        String csv = """
+                marca,modelo,placa,ano,categoria,tipoCombustivel,valorDiaria
+                Ford,Ka,ABC1234,2015,Hatch,Flex,120.5
+                GM,Onix,RGD0J07,2020,Hatch,Flex,150
+                """;
+
+        List<Carro> carros = LeitorCsvCarro.le(csv);
+
+        assertEquals(2, carros.size());
+        assertEquals("ABC1234", carros.get(0).getPlaca());
+        assertEquals(120.5, carros.get(0).getValorDiaria());
+        assertEquals(2020, carros.get(1).getAno());
+    }
+
+    @Test
+    void testLeCsvComPontoEVirgulaEVirgulaDecimal() {
+        List<Carro> carros = LeitorCsvCarro.le("Fiat;Toro;XYZ9A99;2021;Picape;Diesel;280,75\r\n");
+
+        assertEquals(1, carros.size());
+        assertEquals(280.75, carros.get(0).getValorDiaria());
+    }
+
+    @Test
+    void testLinhaComQuantidadeDeColunasErradaDeveLancarExcecao() {
+        assertThrows(AtributoInvalidoException.class, () -> LeitorCsvCarro.le("Ford,Ka,ABC1234,2015"));
+    }
+
+}
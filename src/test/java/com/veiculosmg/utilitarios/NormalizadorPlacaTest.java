@@ -0,0 +1,97 @@
+package com.veiculosmg.utilitarios;
+
+import com.veiculosmg.exception.AtributoInvalidoException;
+import net.jqwik.api.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NormalizadorPlacaTest {
+
+    // Regra anterior de Carro.formataPlaca, usada como referência.
+    private static Optional<String> formataComRegex(String placa) {
+        String placaNormalizada = placa.replace("-", "").trim().toUpperCase();
+
+        if (placaNormalizada.matches("^[A-Z]{3}\\d{4}$")) {
+            return Optional.of(placaNormalizada.substring(0, 3) + "-" + placaNormalizada.substring(3));
+        } else if (placaNormalizada.matches("^[A-Z]{3}\\d[A-Z]\\d{2}$")) {
+            return Optional.of(placaNormalizada);
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<String> formataSemRegex(String placa) {
+        try {
+            return Optional.of(NormalizadorPlaca.formata(placa));
+        } catch (AtributoInvalidoException ex) {
+            return Optional.empty();
+        }
+    }
+
+    @Property(tries = 5000)
+    void testFormataIgualARegraComRegex(@ForAll("candidatosAPlaca") String placa) {
+        assertEquals(formataComRegex(placa), formataSemRegex(placa));
+    }
+
+    @Property(tries = 2000)
+    void testChaveIdentificaAPlacaFormatada(@ForAll("placasValidas") String placa) {
+        long chave = NormalizadorPlaca.chave(placa);
+
+        assertNotEquals(NormalizadorPlaca.INVALIDA, chave);
+        assertEquals(NormalizadorPlaca.formata(placa), NormalizadorPlaca.formata(chave));
+        assertEquals(chave, NormalizadorPlaca.chave(NormalizadorPlaca.formata(chave)));
+        assertEquals(NormalizadorPlaca.formata(placa).length() == 7, NormalizadorPlaca.isMercosul(chave));
+    }
+
+    @Property(tries = 2000)
+    void testPlacasDiferentesTemChavesDiferentes(@ForAll("placasValidas") String placa1, @ForAll("placasValidas") String placa2) {
+        assertEquals(NormalizadorPlaca.formata(placa1).equals(NormalizadorPlaca.formata(placa2)),
+                NormalizadorPlaca.chave(placa1) == NormalizadorPlaca.chave(placa2));
+    }
+
+    @Test
+    void testPlacaJaFormatadaNaoGeraNovaString() {
+        String placa = "RGD0J07";
+        String placaAntiga = "ABC-1234";
+
+        assertSame(placa, NormalizadorPlaca.formata(placa));
+        assertSame(placaAntiga, NormalizadorPlaca.formata(placaAntiga));
+        assertEquals("ABC-1234", NormalizadorPlaca.formata("AB-C1234"));
+    }
+
+    @Test
+    void testPlacaInvalidaLancaExcecaoComAMensagemDeFormato() {
+        AtributoInvalidoException ex = assertThrows(AtributoInvalidoException.class, () -> NormalizadorPlaca.formata("AB1234"));
+
+        assertEquals("Formatos Válidos: ABC1234 ou ABC1D23", ex.getMessage());
+        assertEquals(NormalizadorPlaca.INVALIDA, NormalizadorPlaca.chave(null));
+    }
+
+    @Provide
+    Arbitrary<String> candidatosAPlaca() {
+        return Arbitraries.frequencyOf(
+                Tuple.of(4, placasValidas()),
+                Tuple.of(3, Arbitraries.strings().withChars("ABCXYZabcxyz0159- \t").ofMaxLength(12)),
+                Tuple.of(2, Arbitraries.strings().all().ofMaxLength(10)),
+                Tuple.of(1, Arbitraries.of("ABC1ı23", "Aß1D23", "abc1234 ", "ABC1234\u0000", "ǅBC1234", "ABC١234")));
+    }
+
+    // Placas válidas escritas de formas diferentes: caixa misturada, hífens e espaços nas pontas.
+    @Provide
+    Arbitrary<String> placasValidas() {
+        Arbitrary<String> letras = Arbitraries.strings().withCharRange('A', 'Z').withCharRange('a', 'z').ofLength(3);
+        Arbitrary<String> antiga = Combinators.combine(letras, Arbitraries.strings().numeric().ofLength(4))
+                .as((inicio, fim) -> inicio + fim);
+        Arbitrary<String> mercosul = Combinators.combine(letras, Arbitraries.strings().numeric().ofLength(1),
+                        Arbitraries.chars().range('A', 'Z').range('a', 'z'), Arbitraries.strings().numeric().ofLength(2))
+                .as((inicio, digito, letra, fim) -> inicio + digito + letra + fim);
+
+        return Combinators.combine(Arbitraries.oneOf(antiga, mercosul), Arbitraries.integers().between(0, 7),
+                        Arbitraries.of("", " ", "\t", "-", " -"), Arbitraries.of("", " ", "-", "\n"))
+                .as((placa, posicaoHifen, prefixo, sufixo) -> prefixo + placa.substring(0, posicaoHifen) + "-"
+                        + placa.substring(posicaoHifen) + sufixo);
+    }
+
+}
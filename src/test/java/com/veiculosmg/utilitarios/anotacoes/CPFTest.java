@@ -0,0 +1,115 @@
+package com.veiculosmg.utilitarios.anotacoes;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import net.jqwik.api.*;
+import net.jqwik.api.lifecycle.AfterContainer;
+import net.jqwik.api.lifecycle.BeforeContainer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CPFTest {
+
+    private static ValidatorFactory validatorFactory;
+
+    private static Validator validator;
+
+    private final CPF.CpfValidator cpfValidator = new CPF.CpfValidator();
+
+    // A anotação do Hibernate Validator, usada como referência.
+    record ComCpfHibernate(@org.hibernate.validator.constraints.br.CPF String cpf) {
+    }
+
+    @BeforeContainer
+    static void prepara() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterContainer
+    static void encerra() {
+        validatorFactory.close();
+    }
+
+    private static boolean validaComHibernate(String cpf) {
+        return validator.validate(new ComCpfHibernate(cpf)).isEmpty();
+    }
+
+    // O Hibernate recusa "000000.000-00" e "000.000000-00" mesmo aceitando o formato: o Mod11 dele
+    // assume as posições de "000.000.000-00". Esses casos ficam de fora da comparação.
+    @Property(tries = 5000)
+    void testValidaIgualAoHibernate(@ForAll("candidatosACpf") String cpf) {
+        Assume.that(cpf.chars().filter(c -> c == '.').count() != 1);
+        assertEquals(validaComHibernate(cpf), cpfValidator.isValid(cpf, null), cpf);
+    }
+
+    @Property(tries = 2000)
+    void testCpfValidoEmQualquerFormatoAceito(@ForAll("cpfsValidos") String cpf) {
+        assertTrue(cpfValidator.isValid(cpf, null), cpf);
+    }
+
+    @Test
+    void testCasosConhecidos() {
+        assertTrue(cpfValidator.isValid(null, null));
+        assertTrue(cpfValidator.isValid("41368104070", null));
+        assertTrue(cpfValidator.isValid("413.681.040-70", null));
+        assertTrue(cpfValidator.isValid("413681040-70", null));
+        assertTrue(cpfValidator.isValid("413681.040-70", null));
+
+        assertFalse(cpfValidator.isValid("", null));
+        assertFalse(cpfValidator.isValid("41368104071", null));
+        assertFalse(cpfValidator.isValid("413.681.04070", null));
+        assertFalse(cpfValidator.isValid("413..681040-70", null));
+        assertFalse(cpfValidator.isValid("413681040--70", null));
+        assertFalse(cpfValidator.isValid("11111111111", null));
+        assertFalse(cpfValidator.isValid("111.111.111-11", null));
+        assertFalse(cpfValidator.isValid("4136810407O", null));
+    }
+
+    @Provide
+    Arbitrary<String> candidatosACpf() {
+        Arbitrary<String> aleatorios = Arbitraries.strings().withChars("0123456789.-x ").ofMinLength(0).ofMaxLength(16);
+        Arbitrary<String> repetidos = Arbitraries.of('0', '1', '2', '3', '4', '5', '6', '7', '8', '9')
+                .map(digito -> String.valueOf(digito).repeat(11))
+                .flatMap(cpf -> formatos(cpf));
+        Arbitrary<String> quaseValidos = Arbitraries.strings().numeric().ofLength(11).flatMap(CPFTest::formatos);
+        return Arbitraries.oneOf(aleatorios, repetidos, quaseValidos, cpfsValidos());
+    }
+
+    @Provide
+    Arbitrary<String> cpfsValidos() {
+        return Arbitraries.strings().numeric().ofLength(9)
+                .filter(base -> !base.chars().allMatch(c -> c == base.charAt(0)))
+                .map(CPFTest::comDigitosVerificadores)
+                .flatMap(CPFTest::formatos);
+    }
+
+    private static Arbitrary<String> formatos(String cpf) {
+        String parte1 = cpf.substring(0, 3);
+        String parte2 = cpf.substring(3, 6);
+        String parte3 = cpf.substring(6, 9);
+        String digitos = cpf.substring(9);
+        return Arbitraries.of(
+                cpf,
+                parte1 + "." + parte2 + "." + parte3 + "-" + digitos,
+                parte1 + parte2 + "." + parte3 + "-" + digitos,
+                parte1 + "." + parte2 + parte3 + "-" + digitos,
+                parte1 + parte2 + parte3 + "-" + digitos);
+    }
+
+    private static String comDigitosVerificadores(String base) {
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 0; i < 9; i++) {
+            int digito = base.charAt(i) - '0';
+            soma1 += digito * (10 - i);
+            soma2 += digito * (11 - i);
+        }
+        int digito1 = soma1 * 10 % 11 % 10;
+        int digito2 = (soma2 + digito1 * 2) * 10 % 11 % 10;
+        return base + digito1 + digito2;
+    }
+
+}